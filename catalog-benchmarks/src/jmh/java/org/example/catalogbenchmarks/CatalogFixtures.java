@@ -0,0 +1,71 @@
+package org.example.catalogbenchmarks;
+
+import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.models.Item;
+import org.example.catalogservice.models.Restaurant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class CatalogFixtures {
+    private static final String[] DISHES = {"Biryani", "Dosa", "Idli", "Paneer Tikka", "Naan", "Vada", "Pulao", "Kulfi"};
+
+    private CatalogFixtures() {}
+
+    static String restaurantId(int restaurant) {
+        return String.format("r-%06d", restaurant);
+    }
+
+    static String itemId(int restaurant, int item) {
+        return String.format("i-%06d-%04d", restaurant, item);
+    }
+
+    static String itemName(int item) {
+        return DISHES[item % DISHES.length] + " " + item;
+    }
+
+    static Money price(int item) {
+        return Money.ofRupees(100 + (item * 7) % 400);
+    }
+
+    static Address address(int restaurant) {
+        return Address.builder()
+                .buildingNumber(1 + restaurant % 500)
+                .street("Street " + restaurant % 1000)
+                .locality("Locality " + restaurant % 300)
+                .city("City " + restaurant % 50)
+                .state("State " + restaurant % 20)
+                .country("India")
+                .zipcode(String.valueOf(600000 + restaurant % 1000))
+                .build();
+    }
+
+    static Restaurant restaurant(int restaurant) {
+        return Restaurant.builder()
+                .id(restaurantId(restaurant))
+                .name("Restaurant " + restaurant)
+                .address(address(restaurant))
+                .build();
+    }
+
+    static Item item(Restaurant restaurant, int item) {
+        return Item.builder()
+                .id(itemId(0, item))
+                .name(itemName(item))
+                .description("Description of item " + item)
+                .price(price(item))
+                .restaurant(restaurant)
+                .build();
+    }
+
+    static List<ItemResponse> menu(int size) {
+        Restaurant restaurant = restaurant(1);
+        List<ItemResponse> menu = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            menu.add(new ItemResponse(item(restaurant, i)));
+        }
+        return menu;
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.catalogbenchmarks;
+
+import org.example.catalogservice.CatalogServiceApplication;
+import org.example.catalogservice.caches.MenuCache;
+import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.exceptions.RestaurantNotFoundException;
+import org.example.catalogservice.indexes.RestaurantIdFilterLoader;
+import org.example.catalogservice.repositories.RestaurantReadRepository;
+import org.example.catalogservice.repositories.RestaurantsRepository;
+import org.example.catalogservice.services.ItemsService;
+import org.example.catalogservice.services.RestaurantsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemsService and RestaurantsService reads against an in-memory H2 database holding
+ * {@code restaurants * itemsPerRestaurant} items, inside a full application context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogServiceBenchmark {
+    private static final int BATCH_SIZE = 20;
+
+    @Param({"2000"})
+    private int restaurants;
+
+    @Param({"150"})
+    private int itemsPerRestaurant;
+
+    private ConfigurableApplicationContext context;
+    private ItemsService itemsService;
+    private RestaurantsService restaurantsService;
+    private MenuCache menuCache;
+    private RestaurantsRepository restaurantsRepository;
+    private RestaurantReadRepository restaurantReadRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CatalogServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:catalog-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "catalog.scheduling.enabled=false",
+                        "catalog.warmup.enabled=false",
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        itemsService = context.getBean(ItemsService.class);
+        restaurantsService = context.getBean(RestaurantsService.class);
+        menuCache = context.getBean(MenuCache.class);
+        restaurantsRepository = context.getBean(RestaurantsRepository.class);
+        restaurantReadRepository = context.getBean(RestaurantReadRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+        // The filter loaded on startup, before the seed; load it again to see the seeded ids.
+        context.getBean(RestaurantIdFilterLoader.class).load();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> restaurantRows = new ArrayList<>(restaurants);
+        for (int r = 0; r < restaurants; r++) {
+            Address address = CatalogFixtures.address(r);
+            restaurantRows.add(new Object[]{CatalogFixtures.restaurantId(r), "Restaurant " + r, address.getBuildingNumber(),
+                    address.getStreet(), address.getLocality(), address.getCity(), address.getState(),
+                    address.getCountry(), address.getZipcode()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO restaurants (id, name, building_number, street, locality, city, state, country, zipcode) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", restaurantRows);
+
+        for (int r = 0; r < restaurants; r++) {
+            List<Object[]> itemRows = new ArrayList<>(itemsPerRestaurant);
+            for (int i = 0; i < itemsPerRestaurant; i++) {
+                itemRows.add(new Object[]{CatalogFixtures.itemId(r, i), CatalogFixtures.itemName(i),
+                        "Description of item " + i, CatalogFixtures.price(i).paise(), CatalogFixtures.restaurantId(r)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO food_items (id, name, description, price_paise, restaurant_id) "
+                    + "VALUES (?, ?, ?, ?, ?)", itemRows);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private String randomRestaurantId() {
+        return CatalogFixtures.restaurantId(ThreadLocalRandom.current().nextInt(restaurants));
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse> itemsFetchAllCached() {
+        return itemsService.fetchAll(randomRestaurantId());
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse> itemsFetchAllFromDatabase() {
+        String restaurantId = randomRestaurantId();
+        menuCache.invalidate(restaurantId);
+        return itemsService.fetchAll(restaurantId);
+    }
+
+    private List<String> randomRestaurantIds() {
+        List<String> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ids.add(randomRestaurantId());
+        }
+        return ids;
+    }
+
+    // The entity and projection pairs below read the same rows; compare their
+    // gc.alloc.rate.norm to see what loading entities into a persistence context costs.
+
+    @Benchmark
+    public RestaurantResponse restaurantByIdEntity() {
+        return restaurantsRepository.findById(randomRestaurantId()).map(RestaurantResponse::new).orElseThrow();
+    }
+
+    @Benchmark
+    public RestaurantResponse restaurantByIdProjection() {
+        return restaurantReadRepository.findById(randomRestaurantId()).orElseThrow();
+    }
+
+    @Benchmark
+    public List<RestaurantResponse> restaurantsByIdsEntity() {
+        return restaurantsRepository.findAllById(randomRestaurantIds()).stream().map(RestaurantResponse::new).toList();
+    }
+
+    @Benchmark
+    public List<RestaurantResponse> restaurantsByIdsProjection() {
+        return restaurantReadRepository.findAllById(randomRestaurantIds());
+    }
+
+    // An unknown id rejected by the restaurant id filter, against the database lookup
+    // the filter saves it.
+
+    @Benchmark
+    public Object restaurantsFetchUnknownById() {
+        try {
+            return restaurantsService.fetchById("unknown-" + ThreadLocalRandom.current().nextInt());
+        } catch (RestaurantNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object restaurantsLookUpUnknownInDatabase() {
+        return restaurantReadRepository.findById("unknown-" + ThreadLocalRandom.current().nextInt());
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse> restaurantsFetchFirstPage() {
+        return restaurantsService.fetchAll(null, 50);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void restaurantsExport() throws IOException {
+        restaurantsService.export(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.catalogbenchmarks;
+
+import org.example.catalogservice.indexes.ItemNameIndex;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency of {@link ItemNameIndex} holding one million (restaurant, name)
+ * pairs, and its retained heap, which is reported next to the timings as counters.
+ * A small vocabulary models dishes shared across menus; a large one models mostly
+ * unique names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemNameIndexBenchmark {
+    private static final int RESTAURANTS = 10_000;
+    private static final int ITEMS_PER_RESTAURANT = 100;
+
+    @Param({"1000", "1000000"})
+    private int vocabulary;
+
+    private ItemNameIndex index;
+    private String restaurantId;
+    private long retainedBytes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedHeap {
+        public long retainedBytes;
+        public long bytesPerMillionItems;
+
+        @Setup(Level.Iteration)
+        public void record(ItemNameIndexBenchmark benchmark) {
+            retainedBytes = benchmark.retainedBytes;
+            bytesPerMillionItems = benchmark.retainedBytes * 1_000_000 / benchmark.index.size();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ItemNameIndex();
+        for (int restaurant = 0; restaurant < RESTAURANTS; restaurant++) {
+            String id = CatalogFixtures.restaurantId(restaurant);
+            for (int item = 0; item < ITEMS_PER_RESTAURANT; item++) {
+                index.add(id, CatalogFixtures.itemName((restaurant * ITEMS_PER_RESTAURANT + item * 7919) % vocabulary));
+            }
+        }
+        restaurantId = CatalogFixtures.restaurantId(RESTAURANTS / 2);
+        retainedBytes = GraphLayout.parseInstance(index).totalSize();
+    }
+
+    @Benchmark
+    public List<String> completeAcrossCatalog(RetainedHeap heap) {
+        return index.complete("bir", 10);
+    }
+
+    @Benchmark
+    public List<String> completeLongPrefixAcrossCatalog(RetainedHeap heap) {
+        return index.complete("paneer tikka 12", 10);
+    }
+
+    @Benchmark
+    public List<String> completeWithinRestaurant(RetainedHeap heap) {
+        return index.complete(restaurantId, "do", 10);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.catalogbenchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.models.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a price in mapping and in JSON, Money against the Double it replaced. The
+ * writers stream a hundred prices into a discarding generator; with the gc profiler
+ * (on by default in build.gradle) gc.alloc.rate.norm is the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceBenchmark {
+    private static final int PRICES = 100;
+
+    private Item item;
+    private Money[] money;
+    private Double[] boxed;
+    private JsonGenerator generator;
+    private Money.Serializer moneySerializer;
+
+    @Setup
+    public void setUp() throws IOException {
+        item = CatalogFixtures.item(CatalogFixtures.restaurant(1), 1);
+        money = new Money[PRICES];
+        boxed = new Double[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            money[i] = Money.ofPaise(10000 + i * 757L);
+            boxed[i] = money[i].paise() / 100.0;
+        }
+
+        moneySerializer = new Money.Serializer();
+        generator = new JsonFactory().createGenerator(OutputStream.nullOutputStream());
+        generator.writeStartArray();
+    }
+
+    @Benchmark
+    public ItemResponse mapItem() {
+        return new ItemResponse(item);
+    }
+
+    @Benchmark
+    public void writeMoney() throws IOException {
+        for (Money price : money) {
+            moneySerializer.serialize(price, generator, null);
+        }
+        generator.flush();
+    }
+
+    @Benchmark
+    public void writeDouble() throws IOException {
+        for (Double price : boxed) {
+            generator.writeNumber(price);
+        }
+        generator.flush();
+    }
+
+    @Benchmark
+    public Money parseMoney() {
+        return Money.valueOf("199.99");
+    }
+}
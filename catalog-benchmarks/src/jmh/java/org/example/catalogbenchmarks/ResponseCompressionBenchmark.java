@@ -0,0 +1,102 @@
+package org.example.catalogbenchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.luben.zstd.Zstd;
+import org.example.catalogservice.dto.ApiResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.example.catalogservice.constants.Constants.FETCHED;
+
+/**
+ * Compressing a JSON menu body, at the default level a per-request compressor would use
+ * and at the highest level, which the response cache uses once per cached body. The
+ * body size and the compressed size at each level are reported next to the timings as
+ * counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseCompressionBenchmark {
+    @Param({"gzip", "zstd"})
+    private String encoding;
+
+    @Param({"100"})
+    private int menuSize;
+
+    private byte[] body;
+    private int defaultLevelBytes;
+    private int highestLevelBytes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CompressedSize {
+        public long bodyBytes;
+        public long defaultLevelBytes;
+        public long highestLevelBytes;
+
+        @Setup(Level.Iteration)
+        public void record(ResponseCompressionBenchmark benchmark) {
+            bodyBytes = benchmark.body.length;
+            defaultLevelBytes = benchmark.defaultLevelBytes;
+            highestLevelBytes = benchmark.highestLevelBytes;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        body = objectMapper.writeValueAsBytes(ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("items", CatalogFixtures.menu(menuSize)))
+                .build());
+        defaultLevelBytes = compress(false).length;
+        highestLevelBytes = compress(true).length;
+    }
+
+    @Benchmark
+    public byte[] perRequest(CompressedSize size) throws IOException {
+        return compress(false);
+    }
+
+    @Benchmark
+    public byte[] cached(CompressedSize size) throws IOException {
+        return compress(true);
+    }
+
+    private byte[] compress(boolean highest) throws IOException {
+        if ("zstd".equals(encoding)) {
+            return Zstd.compress(body, highest ? 19 : Zstd.defaultCompressionLevel());
+        }
+        return gzip(highest ? Deflater.BEST_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+    }
+
+    private byte[] gzip(int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(level); }}) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
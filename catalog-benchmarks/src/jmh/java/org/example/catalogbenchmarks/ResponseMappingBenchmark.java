@@ -0,0 +1,42 @@
+package org.example.catalogbenchmarks;
+
+import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.models.Item;
+import org.example.catalogservice.models.Restaurant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of copying entities into the response DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMappingBenchmark {
+    private Restaurant restaurant;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        restaurant = CatalogFixtures.restaurant(1);
+        item = CatalogFixtures.item(restaurant, 1);
+    }
+
+    @Benchmark
+    public ItemResponse itemResponse() {
+        return new ItemResponse(item);
+    }
+
+    @Benchmark
+    public RestaurantResponse restaurantResponse() {
+        return new RestaurantResponse(restaurant);
+    }
+}
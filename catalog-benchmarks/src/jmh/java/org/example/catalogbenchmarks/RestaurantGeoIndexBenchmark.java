@@ -0,0 +1,65 @@
+package org.example.catalogbenchmarks;
+
+import org.example.catalogservice.indexes.RestaurantGeoIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-restaurant latency of {@link RestaurantGeoIndex} holding one million
+ * restaurants, most of them clustered around a few dozen city centres and the rest
+ * spread across the country.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RestaurantGeoIndexBenchmark {
+    private static final int RESTAURANTS = 1_000_000;
+    private static final int CITIES = 40;
+
+    @Param({"2", "50"})
+    private double radiusKm;
+
+    private RestaurantGeoIndex index;
+    private double[][] cities;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        cities = new double[CITIES][];
+        for (int city = 0; city < CITIES; city++) {
+            cities[city] = new double[]{8 + random.nextDouble() * 24, 70 + random.nextDouble() * 18};
+        }
+
+        index = new RestaurantGeoIndex();
+        for (int restaurant = 0; restaurant < RESTAURANTS; restaurant++) {
+            double[] centre = cities[restaurant % CITIES];
+            boolean rural = restaurant % 10 == 0;
+            double latitude = rural ? 8 + random.nextDouble() * 24 : centre[0] + random.nextGaussian() * 0.1;
+            double longitude = rural ? 70 + random.nextDouble() * 18 : centre[1] + random.nextGaussian() * 0.1;
+            index.add(CatalogFixtures.restaurantId(restaurant), latitude, longitude);
+        }
+    }
+
+    @Benchmark
+    public List<RestaurantGeoIndex.Nearby> nearestInCity() {
+        double[] centre = cities[query++ % CITIES];
+        return index.nearest(centre[0] + 0.01, centre[1] - 0.01, radiusKm, 10);
+    }
+
+    @Benchmark
+    public List<RestaurantGeoIndex.Nearby> nearestInCountryside() {
+        return index.nearest(20.5, 78.9, radiusKm, 10);
+    }
+}
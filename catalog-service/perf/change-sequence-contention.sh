@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Ceiling that the catalog_change_sequence row lock puts on catalog writes.
+#
+#   perf/change-sequence-contention.sh [database] [seconds]
+#
+# Runs pgbench against a migrated scratch database with the statements
+# CatalogChangesService issues for a single-item write, at a rising number of clients:
+# the counter update, the read of the allocated number and the change insert, committed
+# together. A second run allocates with nextval instead, which takes no lock, to show
+# what the counter row costs. Once the row is the bottleneck, tps stops rising with the
+# clients and the latency grows with them instead; compare the two tables, and
+# catalog.changes.sequence.held in production against the latency at one client.
+set -euo pipefail
+
+DB=${1:-catalog_bench}
+RUN_SECONDS=${2:-30}
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"; psql -q -d "$DB" -c "DROP SEQUENCE IF EXISTS perf_change_sequence" >/dev/null' EXIT
+
+cat > "$WORK/counter.sql" <<'SQL'
+BEGIN;
+UPDATE catalog_change_sequence SET last_sequence = last_sequence + 1 WHERE id = 1;
+SELECT last_sequence AS sequence FROM catalog_change_sequence WHERE id = 1 \gset
+INSERT INTO catalog_changes (sequence, type, restaurant_id, entity_id, payload, changed_at)
+VALUES (:sequence, 'ITEM_ADDED', 'r-000001', 'perf-' || :sequence, '{}', now());
+COMMIT;
+SQL
+
+cat > "$WORK/nextval.sql" <<'SQL'
+BEGIN;
+SELECT nextval('perf_change_sequence') AS sequence \gset
+INSERT INTO catalog_changes (sequence, type, restaurant_id, entity_id, payload, changed_at)
+VALUES (:sequence, 'ITEM_ADDED', 'r-000001', 'perf-' || :sequence, '{}', now());
+COMMIT;
+SQL
+
+for script in counter nextval; do
+    psql -q -d "$DB" -c "DELETE FROM catalog_changes WHERE entity_id LIKE 'perf-%'" >/dev/null
+    psql -q -d "$DB" -c "DROP SEQUENCE IF EXISTS perf_change_sequence;
+        CREATE SEQUENCE perf_change_sequence START WITH 1000000000;" >/dev/null
+    echo "$script"
+    printf '%8s %10s %12s\n' clients tps latency_ms
+    for clients in 1 4 16 64; do
+        out=$(pgbench -n -T "$RUN_SECONDS" -c "$clients" -j "$clients" -f "$WORK/$script.sql" "$DB")
+        tps=$(sed -n 's/^tps = \([0-9.]*\).*/\1/p' <<<"$out")
+        latency=$(sed -n 's/^latency average = \([0-9.]*\) ms/\1/p' <<<"$out")
+        printf '%8s %10s %12s\n' "$clients" "$tps" "$latency"
+    done
+done
+psql -q -d "$DB" -c "DELETE FROM catalog_changes WHERE entity_id LIKE 'perf-%'" >/dev/null
@@ -0,0 +1,48 @@
+// Menu read latency over the first two minutes after an instance becomes ready, in
+// five-second buckets, so that a cold start shows up as a tail in the early buckets.
+// Run by startup-time.sh as soon as /actuator/health reports UP; compare the p(99) of
+// each menu_latency_NNNs bucket between runs with and without warmup or CDS.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RESTAURANTS = parseInt(__ENV.RESTAURANTS || '100000', 10);
+const BUCKET_SECONDS = 5;
+const BUCKETS = 24;
+
+const buckets = Array.from({ length: BUCKETS },
+    (_, i) => new Trend(`menu_latency_${String(i * BUCKET_SECONDS).padStart(3, '0')}s`, true));
+
+export const options = {
+    scenarios: {
+        menuReads: {
+            executor: 'constant-arrival-rate',
+            rate: parseInt(__ENV.RATE || '500', 10),
+            timeUnit: '1s',
+            duration: `${BUCKET_SECONDS * BUCKETS}s`,
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    summaryTrendStats: ['p(50)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    return { startedAt: Date.now() };
+}
+
+function restaurantId() {
+    // The same skew as the other scripts: most reads go to the 1000 hottest menus.
+    const hot = Math.random() < 0.9 ? Math.min(RESTAURANTS, 1000) : RESTAURANTS;
+    const id = 1 + Math.floor(Math.random() * hot);
+    return 'r-' + String(id).padStart(6, '0');
+}
+
+export default function (data) {
+    const response = http.get(`${BASE_URL}/restaurants/${restaurantId()}/items`);
+    check(response, { 'served': (r) => r.status === 200 });
+
+    const bucket = Math.floor((Date.now() - data.startedAt) / 1000 / BUCKET_SECONDS);
+    buckets[Math.min(bucket, BUCKETS - 1)].add(response.timings.duration);
+}
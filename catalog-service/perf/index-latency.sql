@@ -0,0 +1,55 @@
+-- Menu and name-lookup latency at 10M items.
+--
+-- Run against a scratch database migrated up to V1 (before), which has no index on
+-- food_items but its primary key, and again after the later migrations, which serve
+-- both lookups from the (restaurant_id, name) unique index of V2:
+--
+--   ./gradlew :catalog-service:bootRun --args='--spring.flyway.target=1'   # or flyway migrate -target=1
+--   psql -d catalog_bench -f perf/index-latency.sql > before.txt
+--   flyway migrate
+--   psql -d catalog_bench -v seed=false -f perf/index-latency.sql > after.txt
+--
+-- Compare the "Execution Time" and buffer lines of each EXPLAIN. Each query is
+-- run once to warm the cache before the measured run. Prices are read from whichever
+-- column the schema has: price in rupees before V8, price_paise from V8 on. No results
+-- are recorded here yet.
+
+\set ON_ERROR_STOP on
+\if :{?seed}
+\else
+  \set seed true
+\endif
+
+SELECT CASE WHEN EXISTS (SELECT 1 FROM information_schema.columns
+                         WHERE table_name = 'food_items' AND column_name = 'price_paise')
+            THEN 'price_paise' ELSE 'price' END AS price_column,
+       CASE WHEN EXISTS (SELECT 1 FROM information_schema.columns
+                         WHERE table_name = 'food_items' AND column_name = 'price_paise')
+            THEN 100 ELSE 1 END AS price_unit \gset
+
+\if :seed
+TRUNCATE food_items, restaurants;
+
+-- 100k restaurants x 100 items = 10M items.
+INSERT INTO restaurants (id, name, building_number, street, locality, city, state, country, zipcode)
+SELECT 'r-' || lpad(r::text, 6, '0'), 'Restaurant ' || r, 1 + r % 500, 'Street ' || r % 1000,
+       'Locality ' || r % 300, 'City ' || r % 50, 'State ' || r % 20, 'India', (600000 + r % 1000)::text
+FROM generate_series(1, 100000) AS r;
+
+INSERT INTO food_items (id, name, description, :price_column, restaurant_id)
+SELECT 'i-' || lpad(r::text, 6, '0') || '-' || lpad(i::text, 3, '0'),
+       (ARRAY['Biryani', 'Dosa', 'Idli', 'Paneer Tikka', 'Naan', 'Vada', 'Pulao', 'Kulfi'])[1 + i % 8] || ' ' || i,
+       'Description of item ' || i, (100 + (i * 7) % 400) * :price_unit, 'r-' || lpad(r::text, 6, '0')
+FROM generate_series(1, 100000) AS r, generate_series(1, 100) AS i;
+
+VACUUM ANALYZE restaurants;
+VACUUM ANALYZE food_items;
+\endif
+
+\echo 'findAllByRestaurant'
+SELECT * FROM food_items WHERE restaurant_id = 'r-054321';
+EXPLAIN (ANALYZE, BUFFERS) SELECT id, name, description, :price_column, restaurant_id FROM food_items WHERE restaurant_id = 'r-054321';
+
+\echo 'findByNameAndRestaurant'
+SELECT * FROM food_items WHERE name = 'Dosa 41' AND restaurant_id = 'r-054321';
+EXPLAIN (ANALYZE, BUFFERS) SELECT id, name, description, :price_column, restaurant_id FROM food_items WHERE name = 'Dosa 41' AND restaurant_id = 'r-054321';
@@ -0,0 +1,80 @@
+// Catalog reads through the MVC controllers vs the /reactive variant.
+//
+// Run once per path against the same seeded database (see index-latency.sql). Do it
+// with and without the virtual-threads profile to separate the two effects:
+//
+//   ./gradlew :catalog-service:bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e API=mvc perf/reactive-vs-mvc-reads.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e API=reactive perf/reactive-vs-mvc-reads.js
+//
+// Scenarios:
+//   menus    - many clients reading hot menus, the cache-hit path.
+//   pages    - restaurant listing: one 500-row cursor page on MVC, a 500-row NDJSON
+//              stream on reactive.
+//   byId     - single restaurant lookups that mostly miss the cache.
+//
+// k6 reads responses as fast as the network allows, so it cannot model mobile clients
+// that drain slowly; use a traffic-shaping proxy (e.g. toxiproxy with a bandwidth toxic)
+// in front of the service for that. Compare http_req_duration p95/p99, http_reqs rate,
+// the share of 503s and the JVM's live thread count (jvm.threads.live) between runs.
+// No results are recorded here yet: the script has not been run against a seeded
+// database, so it makes no claim about which path is faster.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const API = __ENV.API || 'mvc';
+const PREFIX = API === 'reactive' ? '/reactive/restaurants' : '/restaurants';
+const RESTAURANTS = parseInt(__ENV.RESTAURANTS || '100000', 10);
+
+export const options = {
+    scenarios: {
+        menus: {
+            executor: 'constant-vus',
+            vus: parseInt(__ENV.VUS || '20000', 10),
+            duration: __ENV.DURATION || '2m',
+            exec: 'menus',
+        },
+        pages: {
+            executor: 'constant-vus',
+            vus: 200,
+            duration: __ENV.DURATION || '2m',
+            exec: 'pages',
+        },
+        byId: {
+            executor: 'constant-arrival-rate',
+            rate: 2000,
+            timeUnit: '1s',
+            preAllocatedVUs: 2000,
+            duration: __ENV.DURATION || '2m',
+            exec: 'byId',
+        },
+    },
+    tags: { api: API },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function restaurantId(hot) {
+    const id = 1 + Math.floor(Math.random() * Math.min(RESTAURANTS, hot));
+    return 'r-' + String(id).padStart(6, '0');
+}
+
+export function menus() {
+    const response = http.get(`${BASE_URL}${PREFIX}/${restaurantId(1000)}/items`);
+    check(response, { 'served': (r) => r.status === 200 });
+    // Think time between taps keeps most connections idle, like a mobile client.
+    sleep(1 + Math.random() * 4);
+}
+
+export function pages() {
+    const params = API === 'reactive'
+        ? { headers: { Accept: 'application/x-ndjson' }, timeout: '10s' }
+        : { timeout: '10s' };
+    const response = http.get(`${BASE_URL}${PREFIX}?size=500`, params);
+    check(response, { 'served': (r) => r.status === 200 });
+}
+
+export function byId() {
+    const response = http.get(`${BASE_URL}${PREFIX}/${restaurantId(RESTAURANTS)}`);
+    check(response, { 'served': (r) => r.status === 200 });
+}
@@ -0,0 +1,45 @@
+-- Catalog search latency at 10M items (ItemSearchRepository).
+--
+-- Seed the database with perf/index-latency.sql first, migrate it to the latest version
+-- (the queries read price_paise, added in V8), then:
+--
+--   psql -d catalog_bench -f perf/search-latency.sql > search.txt
+--
+-- Each query is run once to warm the cache before the measured run. The target is
+-- an "Execution Time" under 50ms for every EXPLAIN below.
+
+\set ON_ERROR_STOP on
+
+\echo 'full-text match, city filter'
+SELECT count(*) FROM food_items WHERE to_tsvector('simple', name || ' ' || coalesce(description, '')) @@ to_tsquery('simple', 'biryani:*');
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT i.id, i.name, i.description, i.price_paise, i.restaurant_id, r.name AS restaurant_name, r.locality, r.city,
+       ts_rank_cd(to_tsvector('simple', i.name || ' ' || coalesce(i.description, '')), q.query) + similarity(i.name, 'biryani') AS rank
+FROM food_items i
+JOIN restaurants r ON r.id = i.restaurant_id
+CROSS JOIN to_tsquery('simple', 'biryani:*') AS q(query)
+WHERE (to_tsvector('simple', i.name || ' ' || coalesce(i.description, '')) @@ q.query OR i.name % 'biryani')
+  AND lower(r.city) = lower('City 21')
+ORDER BY rank DESC, i.id LIMIT 21 OFFSET 0;
+
+\echo 'typeahead prefix with price range'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT i.id, i.name, i.description, i.price_paise, i.restaurant_id, r.name AS restaurant_name, r.locality, r.city,
+       ts_rank_cd(to_tsvector('simple', i.name || ' ' || coalesce(i.description, '')), q.query) + similarity(i.name, 'paneer tik') AS rank
+FROM food_items i
+JOIN restaurants r ON r.id = i.restaurant_id
+CROSS JOIN to_tsquery('simple', 'paneer & tik:*') AS q(query)
+WHERE (to_tsvector('simple', i.name || ' ' || coalesce(i.description, '')) @@ q.query OR i.name % 'paneer tik')
+  AND lower(r.city) = lower('City 7') AND lower(r.locality) = lower('Locality 7')
+  AND i.price_paise >= 15000 AND i.price_paise <= 30000
+ORDER BY rank DESC, i.id LIMIT 21 OFFSET 0;
+
+\echo 'misspelled name'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT i.id, i.name, similarity(i.name, 'biriyani') AS rank
+FROM food_items i
+JOIN restaurants r ON r.id = i.restaurant_id
+CROSS JOIN to_tsquery('simple', 'biriyani:*') AS q(query)
+WHERE (to_tsvector('simple', i.name || ' ' || coalesce(i.description, '')) @@ q.query OR i.name % 'biriyani')
+  AND lower(r.city) = lower('City 21')
+ORDER BY rank DESC, i.id LIMIT 21 OFFSET 0;
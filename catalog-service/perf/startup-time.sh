@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Time-to-ready and first-minute menu latency of one catalog-service start.
+#
+#   ./gradlew :catalog-service:extractBootJar            # plain
+#   ./gradlew :catalog-service:cdsArchive                # with CDS
+#   perf/startup-time.sh plain|cds [spring profiles]
+#
+# e.g. "perf/startup-time.sh cds fast-startup". Time-to-ready is measured from the JVM
+# launch to /actuator/health reporting UP, which includes the menu warmup; the k6
+# script then reports p99 per five-second bucket. Run against the same seeded database
+# (see index-latency.sql) with a populated restaurant_popularity table.
+set -euo pipefail
+
+MODE=${1:-plain}
+PROFILES=${2:-}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+CDS_DIR="$(dirname "$0")/../build/cds"
+APP="$CDS_DIR/app"
+
+# The class path must match the one the archive was trained with, jar for jar.
+CLASSPATH="$APP/BOOT-INF/classes:$(ls -1 "$APP"/BOOT-INF/lib/*.jar | LC_ALL=C sort | paste -sd: -)"
+
+JVM_OPTS=()
+if [[ "$MODE" == "cds" ]]; then
+    JVM_OPTS+=("-XX:SharedArchiveFile=$CDS_DIR/catalog-service.jsa" "-Xshare:auto")
+fi
+
+started=$(date +%s%N)
+java ${JVM_OPTS[@]+"${JVM_OPTS[@]}"} -cp "$CLASSPATH" org.example.catalogservice.CatalogServiceApplication \
+    ${PROFILES:+--spring.profiles.active=$PROFILES} > "$CDS_DIR/startup-$MODE.log" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true' EXIT
+
+until curl -fs "$BASE_URL/actuator/health" | grep -q '"status":"UP"'; do
+    kill -0 $pid 2>/dev/null || { echo "service exited, see $CDS_DIR/startup-$MODE.log"; exit 1; }
+    sleep 0.05
+done
+ready=$(date +%s%N)
+echo "mode=$MODE profiles=${PROFILES:-default} time-to-ready: $(( (ready - started) / 1000000 )) ms"
+
+k6 run -e BASE_URL="$BASE_URL" "$(dirname "$0")/first-minute-latency.js"
@@ -0,0 +1,46 @@
+// 5k concurrent menu reads, platform threads vs virtual threads.
+//
+// Start the service twice against the same seeded database (see index-latency.sql)
+// and run this script against each:
+//
+//   ./gradlew :catalog-service:bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform perf/virtual-threads-menu-reads.js
+//
+//   SPRING_PROFILES_ACTIVE=virtual-threads ./gradlew :catalog-service:bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=virtual perf/virtual-threads-menu-reads.js
+//
+// Set CACHE_BYPASS=true to send a fresh restaurant id on each read so that requests
+// reach Postgres instead of the in-process menu cache. Compare http_req_duration
+// p95/p99, http_reqs rate and the share of 503 responses between the two runs.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RESTAURANTS = parseInt(__ENV.RESTAURANTS || '100000', 10);
+const CACHE_BYPASS = __ENV.CACHE_BYPASS === 'true';
+
+export const options = {
+    scenarios: {
+        menuReads: {
+            executor: 'constant-vus',
+            vus: 5000,
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    tags: { mode: __ENV.MODE || 'unknown' },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function restaurantId() {
+    const hot = CACHE_BYPASS ? RESTAURANTS : Math.min(RESTAURANTS, 1000);
+    const id = 1 + Math.floor(Math.random() * hot);
+    return 'r-' + String(id).padStart(6, '0');
+}
+
+export default function () {
+    const response = http.get(`${BASE_URL}/restaurants/${restaurantId()}/items`);
+    check(response, {
+        'served': (r) => r.status === 200,
+        'shed': (r) => r.status === 503,
+    });
+}
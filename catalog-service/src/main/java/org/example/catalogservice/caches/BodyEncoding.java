@@ -0,0 +1,126 @@
+package org.example.catalogservice.caches;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.util.Native;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content codings a cached response body is kept in besides identity, in order of
+ * preference when a client accepts several equally. Bodies are compressed once per
+ * cached view, so both run at their slow, high ratio levels.
+ */
+@Slf4j
+enum BodyEncoding {
+    ZSTD("zstd") {
+        @Override
+        byte[] encode(byte[] body) {
+            return Zstd.compress(body, ZSTD_LEVEL);
+        }
+
+        @Override
+        boolean isAvailable() {
+            return Zstandard.AVAILABLE;
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        byte[] encode(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        boolean isAvailable() {
+            return true;
+        }
+    };
+
+    private static final int ZSTD_LEVEL = 19;
+
+    private final String token;
+
+    BodyEncoding(String token) {
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    abstract byte[] encode(byte[] body);
+
+    abstract boolean isAvailable();
+
+    /**
+     * The encoding among {@code available} that {@code Accept-Encoding} ranks highest, or
+     * null when the client accepts none of them, prefers identity, or sent no header.
+     */
+    static BodyEncoding negotiate(String acceptEncoding, Set<BodyEncoding> available) {
+        if (acceptEncoding == null || available.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Double> qualities = new HashMap<>();
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    quality = quality(parameter.substring(2));
+                }
+            }
+            qualities.put(parts[0].trim().toLowerCase(Locale.ROOT), quality);
+        }
+
+        BodyEncoding best = null;
+        double bestQuality = 0;
+        for (BodyEncoding encoding : values()) {
+            double quality = qualities.getOrDefault(encoding.token, qualities.getOrDefault("*", 0.0));
+            if (available.contains(encoding) && quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return qualities.getOrDefault("identity", 0.0) > bestQuality ? null : best;
+    }
+
+    private static double quality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // zstd is native code; on a platform zstd-jni has no library for, bodies are only
+    // kept in gzip.
+    private static final class Zstandard {
+        private static final boolean AVAILABLE = load();
+
+        private static boolean load() {
+            try {
+                Native.load();
+                return true;
+            } catch (LinkageError e) {
+                log.warn("zstd is not available, cached responses are compressed with gzip only: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
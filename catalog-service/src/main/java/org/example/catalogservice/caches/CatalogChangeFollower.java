@@ -0,0 +1,139 @@
+package org.example.catalogservice.caches;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.example.catalogservice.datasources.RecentWrites;
+import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.indexes.IndexLoader;
+import org.example.catalogservice.indexes.ItemNameIndex;
+import org.example.catalogservice.indexes.RestaurantGeoIndex;
+import org.example.catalogservice.indexes.RestaurantIdFilter;
+import org.example.catalogservice.models.CatalogChange;
+import org.example.catalogservice.repositories.CatalogChangesRepository;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.example.catalogservice.constants.Constants.DEFAULT_CHANGES_PAGE_SIZE;
+
+/**
+ * Applies catalog changes committed by other instances to this instance's caches and
+ * indexes, by following the catalog_changes feed from where it stood at startup. The
+ * instance's own changes come round as well; invalidating twice and re-adding an indexed
+ * name or restaurant are both harmless.
+ *
+ * <p>If the feed cannot be read at startup, {@link #follow} keeps trying. Changes
+ * committed until it succeeds are never replayed, so it then clears the caches and
+ * reloads the indexes before following.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeFollower {
+    private final CatalogChangesRepository catalogChangesRepository;
+    private final MenuCache menuCache;
+    private final ResponseBodyCache responseBodyCache;
+    private final ItemNameIndex itemNameIndex;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+    private final RestaurantIdFilter restaurantIdFilter;
+    private final RecentWrites recentWrites;
+    private final List<IndexLoader> indexLoaders;
+    private final ObjectMapper objectMapper;
+
+    private volatile long lastSequence = -1;
+    private volatile boolean resyncing;
+
+    // Runs before the index loaders, which are application runners, so nothing committed
+    // in between is missed.
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        try {
+            lastSequence = DataSourceRouting.onPrimary(catalogChangesRepository::findLastSequence);
+            restaurantIdFilter.markFollowing();
+        } catch (DataAccessException e) {
+            log.warn("Not following catalog changes yet, the last sequence could not be read: {}", e.getMessage());
+            resyncing = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.follow-interval:PT5S}")
+    public void follow() {
+        if (lastSequence < 0 && !(resyncing && resync())) {
+            return;
+        }
+
+        try {
+            List<CatalogChange> changes;
+            do {
+                long after = lastSequence;
+                changes = DataSourceRouting.onPrimary(() -> catalogChangesRepository
+                        .findBySequenceGreaterThanOrderBySequenceAsc(after, Limit.of(DEFAULT_CHANGES_PAGE_SIZE)));
+                for (CatalogChange change : changes) {
+                    apply(change);
+                    lastSequence = change.getSequence();
+                }
+            } while (changes.size() == DEFAULT_CHANGES_PAGE_SIZE);
+        } catch (DataAccessException e) {
+            log.warn("Could not read catalog changes after {}: {}", lastSequence, e.getMessage());
+        }
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    // Follows from the current end of the feed; what was committed before it reaches this
+    // instance through the emptied caches and the reloaded indexes instead.
+    private boolean resync() {
+        try {
+            long sequence = DataSourceRouting.onPrimary(catalogChangesRepository::findLastSequence);
+            menuCache.invalidateAll();
+            responseBodyCache.invalidateAll();
+            indexLoaders.forEach(IndexLoader::load);
+
+            lastSequence = sequence;
+            resyncing = false;
+            restaurantIdFilter.markFollowing();
+            log.info("Following catalog changes from {}, caches cleared and indexes reloaded", sequence);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Still not following catalog changes: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void apply(CatalogChange change) {
+        try {
+            switch (change.getType()) {
+                case ITEM_ADDED -> {
+                    ItemResponse item = objectMapper.readValue(change.getPayload(), ItemResponse.class);
+                    restaurantIdFilter.add(change.getRestaurantId());
+                    recentWrites.record(change.getRestaurantId());
+                    menuCache.invalidate(change.getRestaurantId());
+                    responseBodyCache.invalidate(change.getRestaurantId());
+                    itemNameIndex.add(change.getRestaurantId(), item.getName());
+                }
+                case RESTAURANT_CREATED -> {
+                    restaurantIdFilter.add(change.getRestaurantId());
+                    responseBodyCache.invalidateListings();
+                    Address address = objectMapper.readValue(change.getPayload(), RestaurantResponse.class).getAddress();
+                    if (address != null && address.getLatitude() != null && address.getLongitude() != null) {
+                        restaurantGeoIndex.add(change.getRestaurantId(), address.getLatitude(), address.getLongitude());
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping catalog change {} with an unreadable payload: {}", change.getSequence(), e.getMessage());
+        }
+    }
+}
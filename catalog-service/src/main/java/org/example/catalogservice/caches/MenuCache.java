@@ -0,0 +1,134 @@
+package org.example.catalogservice.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.catalogservice.dto.ItemResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of restaurant menus keyed by restaurant id. Hit, miss and eviction
+ * counts are published as the {@code cache.*} meters tagged {@code cache=menu}.
+ */
+@Component
+public class MenuCache implements MeterBinder {
+    private static final String NAME = "menu";
+
+    private final Cache<String, List<ItemResponse>> cache;
+    // One token per restaurant whose menu is being loaded outside of get. Invalidating a
+    // restaurant drops its token, so a load only caches its menu while its token is held.
+    private final ConcurrentMap<String, Object> loads = new ConcurrentHashMap<>();
+
+    public MenuCache(@Value("${catalog.cache.menu.maximum-size:10000}") long maximumSize,
+                     @Value("${catalog.cache.menu.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached menu, loading it at most once per restaurant when it is absent.
+     * An invalidation racing with a load waits for the load and then removes its result.
+     */
+    public List<ItemResponse> get(String restaurantId, Function<String, List<ItemResponse>> loader) {
+        return cache.get(restaurantId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    /**
+     * Loads the menu and caches it unless the restaurant has been invalidated, or loaded
+     * again, since the load started. For callers that have already missed on {@link #getIfPresent} and coalesce
+     * concurrent loads themselves: unlike {@link #get} no lock on the key is held while
+     * loading, and no second miss is recorded.
+     */
+    public List<ItemResponse> load(String restaurantId, Function<String, List<ItemResponse>> loader) {
+        Object token = new Object();
+        loads.put(restaurantId, token);
+        try {
+            List<ItemResponse> menu = List.copyOf(loader.apply(restaurantId));
+            store(restaurantId, menu, token);
+            return menu;
+        } finally {
+            loads.remove(restaurantId, token);
+        }
+    }
+
+    /**
+     * Returns the menus of the restaurants, loading all absent ones with a single call to
+     * the loader. Restaurants the loader returns no menu for are left out of the result.
+     * A loaded menu is only cached when its restaurant has not been invalidated since the
+     * load started, as a menu read before a concurrent write may be stale.
+     */
+    public Map<String, List<ItemResponse>> getAll(Collection<String> restaurantIds,
+                                                  Function<Set<String>, Map<String, List<ItemResponse>>> loader) {
+        Map<String, List<ItemResponse>> menus = new HashMap<>(cache.getAllPresent(restaurantIds));
+
+        Set<String> absent = new LinkedHashSet<>(restaurantIds);
+        absent.removeAll(menus.keySet());
+        if (absent.isEmpty()) {
+            return menus;
+        }
+
+        Map<String, Object> tokens = new HashMap<>();
+        for (String restaurantId : absent) {
+            Object token = new Object();
+            loads.put(restaurantId, token);
+            tokens.put(restaurantId, token);
+        }
+        try {
+            for (Map.Entry<String, List<ItemResponse>> loaded : loader.apply(absent).entrySet()) {
+                List<ItemResponse> menu = List.copyOf(loaded.getValue());
+                menus.put(loaded.getKey(), menu);
+                store(loaded.getKey(), menu, tokens.get(loaded.getKey()));
+            }
+            return menus;
+        } finally {
+            tokens.forEach(loads::remove);
+        }
+    }
+
+    public List<ItemResponse> getIfPresent(String restaurantId) {
+        return cache.getIfPresent(restaurantId);
+    }
+
+    public void invalidate(String restaurantId) {
+        loads.remove(restaurantId);
+        cache.invalidate(restaurantId);
+    }
+
+    public void invalidateAll() {
+        loads.clear();
+        cache.invalidateAll();
+    }
+
+    // The token is taken inside compute, so an invalidation either lands before the check
+    // and keeps the menu out, or after it and removes the menu again.
+    private void store(String restaurantId, List<ItemResponse> menu, Object token) {
+        cache.asMap().compute(restaurantId, (id, cached) -> token != null && loads.remove(id, token) ? menu : cached);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+}
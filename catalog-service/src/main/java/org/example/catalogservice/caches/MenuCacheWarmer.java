@@ -0,0 +1,101 @@
+package org.example.catalogservice.caches;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.services.ItemsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the menus of the most popular restaurants into {@link MenuCache} and
+ * {@link ResponseBodyCache} before the instance takes traffic.
+ *
+ * <p>Spring Boot only reports the application ready once every runner has returned, the
+ * index loaders first and this one last, and until then this bean also reports the
+ * {@code menuWarmup} health component as OUT_OF_SERVICE, which Eureka publishes as the
+ * instance status when {@code eureka.client.healthcheck.enabled} is set. The warmup gives up after
+ * {@code catalog.warmup.timeout}; a failure to warm never prevents startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "catalog.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class MenuCacheWarmer implements ApplicationRunner, HealthIndicator {
+    private final ItemsService itemsService;
+    private final ResponseBodyCache responseBodyCache;
+    private final MenuPopularity menuPopularity;
+    private final int restaurants;
+    private final int parallelism;
+    private final Duration timeout;
+
+    private volatile Health health = Health.outOfService().withDetail("warmed", 0).build();
+
+    public MenuCacheWarmer(ItemsService itemsService, ResponseBodyCache responseBodyCache, MenuPopularity menuPopularity,
+                           @Value("${catalog.warmup.restaurants:1000}") int restaurants,
+                           @Value("${catalog.warmup.parallelism:4}") int parallelism,
+                           @Value("${catalog.warmup.timeout:30s}") Duration timeout) {
+        this.itemsService = itemsService;
+        this.responseBodyCache = responseBodyCache;
+        this.menuPopularity = menuPopularity;
+        this.restaurants = restaurants;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        AtomicInteger warmed = new AtomicInteger();
+
+        List<String> restaurantIds;
+        try {
+            restaurantIds = menuPopularity.mostPopular(restaurants);
+        } catch (RuntimeException e) {
+            log.warn("Skipping menu warmup, popular restaurants could not be read: {}", e.getMessage());
+            restaurantIds = List.of();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (String restaurantId : restaurantIds) {
+                executor.execute(() -> {
+                    try {
+                        responseBodyCache.serve(restaurantId, ResponseBodyCache.MENU, () -> itemsService.fetchAll(restaurantId));
+                        warmed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        log.debug("Could not warm the menu of restaurant {}", restaurantId, e);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Menu warmup timed out after {}", timeout);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        health = Health.up()
+                .withDetail("warmed", warmed.get())
+                .withDetail("requested", restaurantIds.size())
+                .withDetail("elapsedMillis", elapsedMillis)
+                .build();
+        log.info("Warmed {} of {} popular menus in {} ms", warmed.get(), restaurantIds.size(), elapsedMillis);
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.catalogservice.caches;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts menu reads per restaurant in memory and periodically adds them to the
+ * restaurant_popularity table, which is what the startup warmup ranks restaurants by.
+ * Counts are approximate: a read racing with a flush, or a failed flush, is dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuPopularity {
+    private static final String FLUSH = "INSERT INTO restaurant_popularity (restaurant_id, menu_reads) VALUES (?, ?) "
+            + "ON CONFLICT (restaurant_id) DO UPDATE SET menu_reads = restaurant_popularity.menu_reads + EXCLUDED.menu_reads";
+    private static final String MOST_POPULAR = "SELECT restaurant_id FROM restaurant_popularity ORDER BY menu_reads DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, LongAdder> reads = new ConcurrentHashMap<>();
+
+    public void record(String restaurantId) {
+        reads.computeIfAbsent(restaurantId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.popularity.flush-interval:PT1M}",
+            initialDelayString = "${catalog.popularity.flush-interval:PT1M}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>(reads.size());
+        for (String restaurantId : reads.keySet()) {
+            LongAdder count = reads.remove(restaurantId);
+            if (count != null && count.sum() > 0) {
+                batch.add(new Object[]{restaurantId, count.sum()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH, batch);
+        } catch (DataAccessException e) {
+            log.warn("Dropped menu read counts of {} restaurants: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    public List<String> mostPopular(int limit) {
+        return jdbcTemplate.queryForList(MOST_POPULAR, String.class, limit);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.catalogservice.caches;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical reads: while a load for a key is in flight, further calls
+ * for the same key wait for it and share its result, or its exception, instead of
+ * starting their own. Nothing is kept once the load finishes, so this only dedupes
+ * concurrent calls; caching is left to the callers.
+ *
+ * <p>Loads and coalesced calls are published as {@code catalog.requests.loads} and
+ * {@code catalog.requests.coalesced}, tagged with the operation.
+ */
+@Component
+public class RequestCoalescer implements MeterBinder {
+    public enum Operation {
+        MENU, ITEM, RESTAURANT
+    }
+
+    private final ConcurrentMap<Call, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Operation, LongAdder> loads = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> coalesced = new EnumMap<>(Operation.class);
+
+    public RequestCoalescer() {
+        for (Operation operation : Operation.values()) {
+            loads.put(operation, new LongAdder());
+            coalesced.put(operation, new LongAdder());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Operation operation, Object key, Supplier<T> loader) {
+        Call call = new Call(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(call, flight);
+
+        if (leader != null) {
+            coalesced.get(operation).increment();
+            return (T) await(leader);
+        }
+
+        loads.get(operation).increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(call, flight);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Operation operation : Operation.values()) {
+            String tag = operation.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("catalog.requests.loads", loads.get(operation), LongAdder::sum)
+                    .description("Reads that went to the database")
+                    .tag("operation", tag)
+                    .register(registry);
+            FunctionCounter.builder("catalog.requests.coalesced", coalesced.get(operation), LongAdder::sum)
+                    .description("Reads that shared a load already in flight")
+                    .tag("operation", tag)
+                    .register(registry);
+        }
+    }
+
+    long loads(Operation operation) {
+        return loads.get(operation).sum();
+    }
+
+    long coalesced(Operation operation) {
+        return coalesced.get(operation).sum();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Call(Operation operation, Object key) {}
+}
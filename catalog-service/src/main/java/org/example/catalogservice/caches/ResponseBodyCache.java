@@ -0,0 +1,410 @@
+package org.example.catalogservice.caches;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.catalogservice.dto.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.example.catalogservice.constants.Constants.APPLICATION_SMILE_VALUE;
+import static org.example.catalogservice.constants.Constants.MIN_COMPRESSED_BODY_BYTES;
+
+/**
+ * Serialized bodies of read responses, grouped by restaurant id and tagged with a strong
+ * ETag derived from the bytes. Spring answers a matching {@code If-None-Match} with 304
+ * from the returned ETag, so a cached view never reaches the services. Views are kept in
+ * JSON, CBOR or Smile, whichever the client's {@code Accept} asks for, JSON by default.
+ * Each cached body is also compressed once per encoding, by the first request whose
+ * {@code Accept-Encoding} takes zstd or gzip, and sent compressed to every such client
+ * after it, so a body is only compressed when it is kept and asked for.
+ * Restaurant views are bounded by the bytes they hold,
+ * {@code catalog.cache.responses.maximum-weight}, rather than by a count of restaurants
+ * that each hold any number of views. Pages of the restaurant listing are cached the same
+ * way in a small cache of their own, keyed by the page they resolve to.
+ */
+@Component
+public class ResponseBodyCache implements MeterBinder {
+    public static final String MENU = "menu";
+    public static final String RESTAURANT = "restaurant";
+
+    private static final String NAME = "responses";
+    private static final String LISTINGS_NAME = "response-listings";
+    private static final String PAGE = "page";
+    // Kept in place of an encoded copy that came out no smaller than the body.
+    private static final byte[] NOT_SMALLER = new byte[0];
+
+    // Weighed in bytes, so the bound holds however many views and formats a restaurant has.
+    private final Bodies restaurants;
+    // A new restaurant may belong on any page, so pages are dropped all together.
+    private final Bodies listings;
+    // In order of preference when a client accepts several formats equally.
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+    private final Set<BodyEncoding> encodings = Arrays.stream(BodyEncoding.values())
+            .filter(BodyEncoding::isAvailable)
+            .collect(() -> EnumSet.noneOf(BodyEncoding.class), Set::add, Set::addAll);
+    private final Map<BodyEncoding, LongAdder> uncompressedBytes = new EnumMap<>(BodyEncoding.class);
+    private final Map<BodyEncoding, LongAdder> compressedBytes = new EnumMap<>(BodyEncoding.class);
+    private final Map<BodyEncoding, LongAdder> savedBytes = new EnumMap<>(BodyEncoding.class);
+
+    public ResponseBodyCache(ObjectMapper objectMapper,
+                             @Value("${catalog.cache.responses.maximum-weight:64MB}") DataSize maximumWeight,
+                             @Value("${catalog.cache.responses.expire-after-write:10m}") Duration expireAfterWrite,
+                             @Value("${catalog.cache.responses.listings.maximum-size:100}") long listingsMaximumSize) {
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(MediaType.valueOf(APPLICATION_SMILE_VALUE), objectMapper.copyWith(new SmileFactory()));
+        this.restaurants = new Bodies(Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher(ResponseBodyCache::weigh)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+        this.listings = new Bodies(Caffeine.newBuilder()
+                .maximumSize(listingsMaximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+        for (BodyEncoding encoding : BodyEncoding.values()) {
+            uncompressedBytes.put(encoding, new LongAdder());
+            compressedBytes.put(encoding, new LongAdder());
+            savedBytes.put(encoding, new LongAdder());
+        }
+    }
+
+    public static String item(String itemName) {
+        return "item:" + itemName;
+    }
+
+    /**
+     * Returns the cached JSON body of the view, or calls the loader and caches its body
+     * when it is a successful response. Error responses and exceptions pass through
+     * untouched.
+     */
+    public ResponseEntity<?> serve(String restaurantId, String view, Supplier<ResponseEntity<ApiResponse>> loader) {
+        return serveAs(restaurants, restaurantId, view, MediaType.APPLICATION_JSON, null, loader);
+    }
+
+    /**
+     * As {@link #serve(String, String, Supplier)}, in the first format the request's
+     * {@code Accept} header allows, or JSON when it allows none of them or is missing,
+     * and compressed when its {@code Accept-Encoding} takes one of the body's encodings.
+     */
+    public ResponseEntity<?> serve(String restaurantId, String view, HttpHeaders request,
+                                   Supplier<ResponseEntity<ApiResponse>> loader) {
+        return serveAs(restaurants, restaurantId, view, negotiate(header(request, HttpHeaders.ACCEPT)),
+                header(request, HttpHeaders.ACCEPT_ENCODING), loader);
+    }
+
+    /**
+     * As {@link #serve(String, String, HttpHeaders, Supplier)}, for the page of the
+     * restaurant listing after {@code afterId}, or the first page when it is null. Callers
+     * pass the decoded cursor and the page size the request resolves to, so requests for
+     * the same page share one entry and malformed cursors never reach the cache.
+     */
+    public ResponseEntity<?> serveListing(String afterId, int pageSize, HttpHeaders request,
+                                          Supplier<ResponseEntity<ApiResponse>> loader) {
+        // The size goes first; it holds no colon, so no id can make two pages collide.
+        String key = afterId == null ? String.valueOf(pageSize) : pageSize + ":" + afterId;
+        return serveAs(listings, key, PAGE, negotiate(header(request, HttpHeaders.ACCEPT)),
+                header(request, HttpHeaders.ACCEPT_ENCODING), loader);
+    }
+
+    /**
+     * As {@link #serve(String, String, HttpHeaders, Supplier)} when the view is already
+     * cached in the negotiated format, and empty otherwise, so that callers on a
+     * non-blocking path can answer a hit in place and only offload a miss. A miss here is
+     * counted again by the {@code serve} that follows it.
+     */
+    public Optional<ResponseEntity<?>> serveIfCached(String restaurantId, String view, HttpHeaders request) {
+        MediaType format = negotiate(header(request, HttpHeaders.ACCEPT));
+        ConcurrentMap<String, CachedBody> bodies = restaurants.cache().getIfPresent(restaurantId);
+        CachedBody cached = bodies == null ? null : bodies.get(key(view, format));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        return Optional.of(respond(restaurants, restaurantId, bodies, cached, format,
+                header(request, HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    private ResponseEntity<?> serveAs(Bodies cache, String id, String view, MediaType format, String acceptEncoding,
+                                      Supplier<ResponseEntity<ApiResponse>> loader) {
+        String key = key(view, format);
+        ConcurrentMap<String, CachedBody> bodies = cache.cache().getIfPresent(id);
+        CachedBody cached = bodies == null ? null : bodies.get(key);
+
+        if (cached == null) {
+            // Nothing is cached for a failed load, so unknown ids take no room.
+            Load load = begin(cache, id);
+            try {
+                ResponseEntity<ApiResponse> response = loader.get();
+                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                    return response;
+                }
+
+                cached = serialize(response.getBody(), mappers.get(format));
+                bodies = store(cache, id, key, cached, load);
+            } finally {
+                end(cache, id, load);
+            }
+        }
+        return respond(cache, id, bodies, cached, format, acceptEncoding);
+    }
+
+    private ResponseEntity<?> respond(Bodies cache, String id, ConcurrentMap<String, CachedBody> bodies,
+                                      CachedBody cached, MediaType format, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(format);
+        // A body that was not kept is served once, so it is not worth compressing.
+        BodyEncoding encoding = bodies == null ? null : encode(cache, id, bodies, cached, acceptEncoding);
+        if (encoding == null) {
+            return response.eTag(cached.etag()).body(cached.body());
+        }
+
+        byte[] encoded = cached.encoded().get(encoding);
+        savedBytes.get(encoding).add(cached.body().length - encoded.length);
+        return response.eTag(cached.etag(encoding))
+                .header(HttpHeaders.CONTENT_ENCODING, encoding.token())
+                .body(encoded);
+    }
+
+    private static String key(String view, MediaType format) {
+        return format.equals(MediaType.APPLICATION_JSON) ? view : view + ";" + format;
+    }
+
+    public void invalidate(String restaurantId) {
+        restaurants.invalidate(restaurantId);
+    }
+
+    public void invalidateAll() {
+        restaurants.invalidateAll();
+        listings.invalidateAll();
+    }
+
+    /**
+     * Drops every cached page of the restaurant listing. A new restaurant may belong on
+     * any page, so they all go.
+     */
+    public void invalidateListings() {
+        listings.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, restaurants.cache(), NAME);
+        CaffeineCacheMetrics.monitor(registry, listings.cache(), LISTINGS_NAME);
+        for (BodyEncoding encoding : BodyEncoding.values()) {
+            Gauge.builder("catalog.responses.compression.ratio", encoding, this::compressionRatio)
+                    .description("Size of the compressed cached bodies over their uncompressed size")
+                    .tag("encoding", encoding.token())
+                    .register(registry);
+            FunctionCounter.builder("catalog.responses.compression.saved", savedBytes.get(encoding), LongAdder::sum)
+                    .description("Bytes left out of responses by sending cached bodies compressed")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag("encoding", encoding.token())
+                    .register(registry);
+        }
+    }
+
+    double compressionRatio(BodyEncoding encoding) {
+        long uncompressed = uncompressedBytes.get(encoding).sum();
+        return uncompressed == 0 ? Double.NaN : (double) compressedBytes.get(encoding).sum() / uncompressed;
+    }
+
+    long savedBytes(BodyEncoding encoding) {
+        return savedBytes.get(encoding).sum();
+    }
+
+    private static Load begin(Bodies cache, String id) {
+        return cache.loads().compute(id, (key, load) -> {
+            Load started = load == null ? new Load() : load;
+            started.inFlight++;
+            return started;
+        });
+    }
+
+    private static void end(Bodies cache, String id, Load load) {
+        cache.loads().computeIfPresent(id, (key, current) -> current == load && --current.inFlight == 0 ? null : current);
+    }
+
+    // A body loaded before an invalidation may be stale, so it is only kept while the load
+    // is still registered under the key; invalidations of other keys leave it alone. The
+    // check runs inside compute, so an invalidation either lands before it and keeps the
+    // body out, or after it and removes the body again. Returns the key's bodies when the
+    // body was kept, null otherwise.
+    private static ConcurrentMap<String, CachedBody> store(Bodies cache, String id, String view, CachedBody body,
+                                                           Load load) {
+        ConcurrentMap<String, CachedBody> stored = cache.cache().asMap().compute(id, (key, bodies) -> {
+            if (cache.loads().get(key) != load) {
+                return bodies;
+            }
+
+            ConcurrentMap<String, CachedBody> updated = bodies == null ? new ConcurrentHashMap<>() : bodies;
+            updated.put(view, body);
+            return updated;
+        });
+        return stored != null && stored.get(view) == body ? stored : null;
+    }
+
+    // Bodies and their encoded copies, in bytes.
+    private static int weigh(String id, ConcurrentMap<String, CachedBody> bodies) {
+        long bytes = 0;
+        for (CachedBody body : bodies.values()) {
+            bytes += body.body().length;
+            for (byte[] encoded : body.encoded().values()) {
+                bytes += encoded.length;
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private MediaType negotiate(String accept) {
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : mappers.keySet()) {
+                if (mediaType.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static String header(HttpHeaders request, String name) {
+        List<String> values = request == null ? null : request.get(name);
+        return values == null || values.isEmpty() ? null : String.join(",", values);
+    }
+
+    private CachedBody serialize(ApiResponse response, ObjectMapper objectMapper) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new CachedBody(body, DigestUtils.md5DigestAsHex(body), new ConcurrentHashMap<>());
+    }
+
+    // The encoding the body is sent in, compressing it the first time an encoding is
+    // picked. Small bodies fit in a packet or two either way, so they are not worth the
+    // encoded copies, and an encoding whose copy came out no smaller than the body is
+    // passed over for the client's next choice.
+    private BodyEncoding encode(Bodies cache, String id, ConcurrentMap<String, CachedBody> bodies, CachedBody cached,
+                                String acceptEncoding) {
+        if (acceptEncoding == null || cached.body().length < MIN_COMPRESSED_BODY_BYTES) {
+            return null;
+        }
+
+        Set<BodyEncoding> candidates = EnumSet.copyOf(encodings);
+        while (true) {
+            BodyEncoding encoding = BodyEncoding.negotiate(acceptEncoding, candidates);
+            if (encoding == null) {
+                return null;
+            }
+
+            byte[] encoded = cached.encoded().get(encoding);
+            if (encoded == null) {
+                encoded = cached.encoded().computeIfAbsent(encoding, e -> compress(cached.body(), e));
+                // Replacing the bodies with themselves has the cache weigh in the new copy.
+                cache.cache().asMap().replace(id, bodies, bodies);
+            }
+            if (encoded != NOT_SMALLER) {
+                return encoding;
+            }
+            candidates.remove(encoding);
+        }
+    }
+
+    private byte[] compress(byte[] body, BodyEncoding encoding) {
+        byte[] compressed = encoding.encode(body);
+        if (compressed.length >= body.length) {
+            return NOT_SMALLER;
+        }
+
+        uncompressedBytes.get(encoding).add(body.length);
+        compressedBytes.get(encoding).add(compressed.length);
+        return compressed;
+    }
+
+    // Bodies grouped by key, with the loads in flight per key. Invalidating a key drops its
+    // loads, so a load only stores its body while it is still registered under the key.
+    private record Bodies(Cache<String, ConcurrentMap<String, CachedBody>> cache, ConcurrentMap<String, Load> loads) {
+        Bodies(Cache<String, ConcurrentMap<String, CachedBody>> cache) {
+            this(cache, new ConcurrentHashMap<>());
+        }
+
+        void invalidate(String id) {
+            loads.remove(id);
+            cache.invalidate(id);
+        }
+
+        void invalidateAll() {
+            loads.clear();
+            cache.invalidateAll();
+        }
+    }
+
+    private static final class Load {
+        // Guarded by the loads map: only changed inside its compute calls.
+        private int inFlight;
+    }
+
+    // An encoded body is a different representation, so it gets an ETag of its own.
+    // Encoded copies are added as they are first asked for.
+    private record CachedBody(byte[] body, String digest, ConcurrentMap<BodyEncoding, byte[]> encoded) {
+        String etag() {
+            return "\"" + digest + "\"";
+        }
+
+        String etag(BodyEncoding encoding) {
+            return "\"" + digest + "-" + encoding.token() + "\"";
+        }
+    }
+}
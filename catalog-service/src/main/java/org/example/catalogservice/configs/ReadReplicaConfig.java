@@ -0,0 +1,81 @@
+package org.example.catalogservice.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.catalogservice.datasources.ReadReplicaRoutingDataSource;
+import org.example.catalogservice.filters.ReadYourWritesFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to read replicas when {@code catalog.replicas.enabled} is
+ * set. The primary pool is built from {@code spring.datasource} as Spring Boot would
+ * build it; each of {@code catalog.replicas.urls} gets a read-only pool with the same
+ * credentials and {@code spring.datasource.hikari} settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    private static final String HIKARI = "spring.datasource.hikari";
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${catalog.replicas.urls}") List<String> urls,
+            @Value("${catalog.replicas.connection-timeout:500ms}") Duration connectionTimeout,
+            @Value("${catalog.replicas.lag-query}") String lagQuery,
+            @Value("${catalog.replicas.max-lag:1s}") Duration maxLag) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI, Bindable.ofInstance(primary));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .build();
+            binder.bind(HIKARI, Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            // A replica that cannot hand out a connection quickly is skipped for the primary.
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replicas.put("replica-" + i, replica);
+        }
+
+        return new ReadReplicaRoutingDataSource(primary, replicas, lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${catalog.replicas.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
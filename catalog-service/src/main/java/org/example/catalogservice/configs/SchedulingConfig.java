@@ -0,0 +1,15 @@
+package org.example.catalogservice.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs such as the menu popularity flush. Turned off with
+ * {@code catalog.scheduling.enabled=false}, e.g. in tests.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "catalog.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
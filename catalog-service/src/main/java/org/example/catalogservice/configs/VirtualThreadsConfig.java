@@ -0,0 +1,30 @@
+package org.example.catalogservice.configs;
+
+import org.example.catalogservice.filters.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Safeguards for {@code spring.threads.virtual.enabled}, which the {@code virtual-threads}
+ * profile sets together with its connection pool limits. Spring Boot itself moves Tomcat
+ * and the application task executor onto virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${catalog.virtual-threads.max-concurrent-requests:1000}") int maxConcurrentRequests,
+            @Value("${catalog.virtual-threads.acquire-timeout:100ms}") Duration acquireTimeout) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
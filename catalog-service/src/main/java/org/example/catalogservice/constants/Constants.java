@@ -12,7 +12,56 @@ public final class Constants {
     public static final String ITEM_ADDED = "Item added to the menu successfully";
     public static final String ITEM_ALREADY_EXISTS = "Item already exists in the given restaurant";
     public static final String ITEM_NOT_FOUND = "Item not found in the restaurant";
+    public static final String ITEMS_IMPORTED = "Items imported to the menu";
+
+    // Menus
+    public static final String RESTAURANT_IDS_REQUIRED = "At least one restaurant id is required";
+    public static final String TOO_MANY_RESTAURANT_IDS = "At most 50 restaurants can be fetched at once";
+    public static final int MAX_BATCH_MENUS = 50;
 
     // Common
     public static final String FETCHED = "Fetched";
+    public static final String INVALID_CURSOR = "Cursor is invalid";
+    public static final String DATABASE_BUSY = "Service is busy, please retry";
+
+    // Search
+    public static final String SEARCH_TEXT_REQUIRED = "Search text must contain a letter or a digit";
+    public static final String INVALID_PRICE_RANGE = "Minimum price must not be greater than maximum price";
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_RESULTS = 1000;
+    public static final int MAX_SEARCH_TERMS = 8;
+    public static final String TYPEAHEAD_PREFIX_REQUIRED = "Typeahead prefix must not be blank";
+    public static final int DEFAULT_TYPEAHEAD_SIZE = 10;
+    public static final int MAX_TYPEAHEAD_SIZE = 50;
+
+    // Nearby
+    public static final String INVALID_COORDINATES = "Latitude has to be between -90 and 90 and longitude between -180 and 180";
+    public static final String INVALID_RADIUS = "Radius has to be positive";
+    public static final double DEFAULT_NEARBY_RADIUS_KM = 5;
+    public static final double MAX_NEARBY_RADIUS_KM = 50;
+    public static final int DEFAULT_NEARBY_SIZE = 10;
+    public static final int MAX_NEARBY_SIZE = 100;
+
+    // Changes
+    public static final int DEFAULT_CHANGES_PAGE_SIZE = 500;
+    public static final int MAX_CHANGES_PAGE_SIZE = 5000;
+
+    // Pagination
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int EXPORT_FETCH_SIZE = 1000;
+    public static final int STREAM_PAGE_SIZE = 200;
+    public static final int DEFAULT_STREAM_SIZE = 5000;
+    public static final int MAX_STREAM_SIZE = 20000;
+
+    // Imports
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final int MAX_IMPORT_ROWS = 10000;
+    public static final int IMPORT_BATCH_SIZE = 500;
+    public static final int IMPORT_LOOKUP_CHUNK_SIZE = 1000;
+
+    // Response formats
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final int MIN_COMPRESSED_BODY_BYTES = 1024;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.example.catalogservice.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.services.CatalogChangesService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/changes")
+public class CatalogChangesController {
+    private final CatalogChangesService catalogChangesService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse> fetchSince(@RequestParam(name = "since", required = false) Long since,
+                                                  @RequestParam(name = "size", required = false) Integer size) {
+        return this.catalogChangesService.fetchSince(since, size);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.catalogservice.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.services.ItemSearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/items")
+public class ItemSearchController {
+    private final ItemSearchService itemSearchService;
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> search(@RequestParam(name = "q") String text,
+                                              @RequestParam(name = "city", required = false) String city,
+                                              @RequestParam(name = "locality", required = false) String locality,
+                                              @RequestParam(name = "minPrice", required = false) Money minPrice,
+                                              @RequestParam(name = "maxPrice", required = false) Money maxPrice,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                              @RequestParam(name = "size", required = false) Integer size) {
+        return this.itemSearchService.search(text, city, locality, minPrice, maxPrice, cursor, size);
+    }
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse> typeahead(@RequestParam(name = "prefix") String prefix,
+                                                 @RequestParam(name = "restaurantId", required = false) String restaurantId,
+                                                 @RequestParam(name = "size", required = false) Integer size) {
+        return this.itemSearchService.typeahead(prefix, restaurantId, size);
+    }
+}
@@ -5,35 +5,59 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 
+import org.example.catalogservice.caches.MenuPopularity;
+import org.example.catalogservice.caches.ResponseBodyCache;
 import org.example.catalogservice.dto.ApiResponse;
 import org.example.catalogservice.dto.ItemRequest;
 import org.example.catalogservice.services.ItemsService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.example.catalogservice.constants.Constants.TEXT_CSV_VALUE;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/restaurants/{restaurantId}/items")
 public class ItemsController {
     private final ItemsService itemsService;
+    private final ResponseBodyCache responseBodyCache;
+    private final MenuPopularity menuPopularity;
 
     @PostMapping
     public ResponseEntity<ApiResponse> add(@PathVariable(name = "restaurantId") String restaurantId, @Valid @RequestBody ItemRequest request) {
         return this.itemsService.add(restaurantId, request);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<ApiResponse> bulkAdd(@PathVariable(name = "restaurantId") String restaurantId,
+                                               @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                               InputStream body) throws IOException {
+        return this.itemsService.bulkAdd(restaurantId, body, contentType);
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse> fetchAll(@PathVariable(name = "restaurantId") String restaurantId) {
-        return this.itemsService.fetchAll(restaurantId);
+    public ResponseEntity<?> fetchAll(@PathVariable(name = "restaurantId") String restaurantId,
+                                      @RequestHeader HttpHeaders headers) {
+        this.menuPopularity.record(restaurantId);
+        return this.responseBodyCache.serve(restaurantId, ResponseBodyCache.MENU, headers,
+                () -> this.itemsService.fetchAll(restaurantId));
     }
 
     @GetMapping("/{itemName}")
-    public ResponseEntity<ApiResponse> fetchByItemName(@PathVariable(name = "restaurantId") String restaurantId, @PathVariable(name = "itemName") String itemName) {
-        return this.itemsService.fetchByName(restaurantId, itemName);
+    public ResponseEntity<?> fetchByItemName(@PathVariable(name = "restaurantId") String restaurantId, @PathVariable(name = "itemName") String itemName,
+                                             @RequestHeader HttpHeaders headers) {
+        return this.responseBodyCache.serve(restaurantId, ResponseBodyCache.item(itemName), headers,
+                () -> this.itemsService.fetchByName(restaurantId, itemName));
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.example.catalogservice.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.services.ItemsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/menus")
+public class MenusController {
+    private final ItemsService itemsService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse> fetchMenus(@RequestParam(name = "restaurantIds") List<String> restaurantIds) {
+        return this.itemsService.fetchMenus(restaurantIds);
+    }
+}
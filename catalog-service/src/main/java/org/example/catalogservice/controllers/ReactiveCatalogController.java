@@ -0,0 +1,44 @@
+package org.example.catalogservice.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.caches.MenuPopularity;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.services.ReactiveCatalogService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/reactive/restaurants")
+public class ReactiveCatalogController {
+    private final ReactiveCatalogService reactiveCatalogService;
+    private final MenuPopularity menuPopularity;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RestaurantResponse> fetchAll(@RequestParam(name = "after", required = false) String after,
+                                            @RequestParam(name = "size", required = false) Integer size) {
+        return this.reactiveCatalogService.fetchAll(after, size);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse>> fetchById(@PathVariable(value = "id") String id) {
+        return this.reactiveCatalogService.fetchById(id);
+    }
+
+    @GetMapping("/{restaurantId}/items")
+    public Mono<ResponseEntity<?>> fetchMenu(@PathVariable(name = "restaurantId") String restaurantId,
+                                             @RequestHeader HttpHeaders headers) {
+        this.menuPopularity.record(restaurantId);
+        return this.reactiveCatalogService.fetchMenu(restaurantId, headers);
+    }
+}
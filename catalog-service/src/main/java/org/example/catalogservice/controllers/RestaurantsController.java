@@ -5,22 +5,30 @@ import jakarta.validation.Valid;
 
 import lombok.RequiredArgsConstructor;
 
+import org.example.catalogservice.caches.ResponseBodyCache;
 import org.example.catalogservice.dto.ApiResponse;
 import org.example.catalogservice.dto.RestaurantRequest;
 import org.example.catalogservice.services.RestaurantsService;
+import org.example.catalogservice.utils.Cursors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/restaurants")
 public class RestaurantsController {
     private final RestaurantsService restaurantsService;
+    private final ResponseBodyCache responseBodyCache;
 
     @PostMapping
     public ResponseEntity<ApiResponse> create(@Valid @RequestBody RestaurantRequest request) {
@@ -28,12 +36,32 @@ public class RestaurantsController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse> fetchAll() {
-        return this.restaurantsService.fetchAll();
+    public ResponseEntity<?> fetchAll(@RequestParam(name = "cursor", required = false) String cursor,
+                                      @RequestParam(name = "size", required = false) Integer size,
+                                      @RequestHeader HttpHeaders headers) {
+        String afterId = cursor == null ? null : Cursors.decode(cursor);
+        return this.responseBodyCache.serveListing(afterId, RestaurantsService.pageSize(size), headers,
+                () -> this.restaurantsService.fetchAll(cursor, size));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse> nearby(@RequestParam(name = "lat") double latitude,
+                                              @RequestParam(name = "lon") double longitude,
+                                              @RequestParam(name = "radiusKm", required = false) Double radiusKm,
+                                              @RequestParam(name = "size", required = false) Integer size) {
+        return this.restaurantsService.nearby(latitude, longitude, radiusKm, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = this.restaurantsService::export;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> fetchById(@PathVariable(value = "id") String id) {
-        return this.restaurantsService.fetchById(id);
+    public ResponseEntity<?> fetchById(@PathVariable(value = "id") String id,
+                                       @RequestHeader HttpHeaders headers) {
+        return this.responseBodyCache.serve(id, ResponseBodyCache.RESTAURANT, headers,
+                () -> this.restaurantsService.fetchById(id));
     }
-}
\ No newline at end of file
+}
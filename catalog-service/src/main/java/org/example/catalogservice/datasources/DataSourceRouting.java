@@ -0,0 +1,52 @@
+package org.example.catalogservice.datasources;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the current thread's connections to the primary, even inside read-only
+ * transactions that would otherwise go to a replica. Connections are picked when the
+ * first statement runs, so the pin only has to be in place by then.
+ *
+ * <p>Used for reads that must see every commit so far: the startup index loads and the
+ * change feed, which would otherwise miss writes a replica has not replayed yet, and
+ * reads for clients or menus inside the read-your-writes window.
+ */
+public final class DataSourceRouting {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final Pin NESTED = () -> {};
+
+    private DataSourceRouting() {}
+
+    /**
+     * A pin released on close; pins nest, and only the outermost one unpins.
+     */
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    public static Pin pinToPrimary() {
+        if (isPinnedToPrimary()) {
+            return NESTED;
+        }
+
+        PINNED.set(Boolean.TRUE);
+        return PINNED::remove;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Pin ignored = pinToPrimary()) {
+            return action.get();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        try (Pin ignored = pinToPrimary()) {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.catalogservice.datasources;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to
+ * everything else. Replicas take turns, and a replica is skipped while its last health
+ * check failed or measured more lag than allowed, or once it fails to give a connection,
+ * until the next check passes; with no replica available reads go to the primary.
+ *
+ * <p>The transaction's read-only flag is only known once it has begun, so this is meant
+ * to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which asks for the connection when the first statement runs.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, InitializingBean, DisposableBean {
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery, Duration maxLag) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !DataSourceRouting.isPinnedToPrimary()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replicaConnections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.available = false;
+                    log.warn("Replica {} is unavailable until its next health check: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryConnections.increment();
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Measures each replica's lag with the lag query, which returns it in seconds, and
+     * makes the replica available again only if the query succeeds within the limit.
+     */
+    @Scheduled(fixedDelayString = "${catalog.replicas.health-interval:PT1S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                replica.lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+            }
+
+            boolean available = replica.lagSeconds <= maxLagSeconds;
+            if (available != replica.available) {
+                log.info("Replica {} is now {} (lag {} s)", replica.name, available ? "in use" : "skipped", replica.lagSeconds);
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        checkReplicas();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Pool metrics and saturation are about the primary; replicas report below.
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.datasource.connections", primaryConnections, LongAdder::sum)
+                .description("Connections handed out, by where they went")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("catalog.datasource.connections", replicaConnections, LongAdder::sum)
+                .description("Connections handed out, by where they went")
+                .tag("target", "replica")
+                .register(registry);
+
+        for (Replica replica : replicas) {
+            Gauge.builder("catalog.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag at the last health check, NaN if it failed")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("catalog.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether read-only transactions are sent to the replica")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    boolean isAvailable(String replicaName) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(replicaName) && replica.available);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.catalogservice.datasources;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Restaurants whose menus changed within the read-your-writes window. Their menus are
+ * shared through the caches, so until every replica is sure to have caught up they are
+ * loaded from the primary, whoever asks; otherwise a lagging replica could put the old
+ * menu back into the cache right after the write invalidated it.
+ */
+@Component
+public class RecentWrites {
+    private final Cache<String, Boolean> restaurants;
+
+    public RecentWrites(@Value("${catalog.replicas.read-your-writes-window:5s}") Duration window) {
+        this.restaurants = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void record(String restaurantId) {
+        restaurants.put(restaurantId, Boolean.TRUE);
+    }
+
+    public boolean isRecent(String restaurantId) {
+        return restaurants.getIfPresent(restaurantId) != null;
+    }
+
+    public boolean anyRecent(Collection<String> restaurantIds) {
+        for (String restaurantId : restaurantIds) {
+            if (isRecent(restaurantId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.catalogservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 
@@ -39,4 +42,14 @@ public class Address {
 
     @Pattern(regexp = "^[1-9]\\d{5}$", message = "Zip Code has length of 6 [1-9]{1}[0-9]{5}")
     private String zipcode;
+
+    @DecimalMin(value = "-90.0", message = "Latitude has to be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude has to be between -90 and 90")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude has to be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude has to be between -180 and 180")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double longitude;
 }
\ No newline at end of file
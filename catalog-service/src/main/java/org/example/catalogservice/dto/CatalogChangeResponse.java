@@ -0,0 +1,35 @@
+package org.example.catalogservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.catalogservice.models.CatalogChange;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogChangeResponse {
+    private long sequence;
+    private CatalogChange.Type type;
+    private String restaurantId;
+    private String entityId;
+
+    @JsonRawValue
+    private String payload;
+
+    private Instant changedAt;
+
+    public CatalogChangeResponse(CatalogChange change) {
+        this.sequence = change.getSequence();
+        this.type = change.getType();
+        this.restaurantId = change.getRestaurantId();
+        this.entityId = change.getEntityId();
+        this.payload = change.getPayload();
+        this.changedAt = change.getChangedAt();
+    }
+}
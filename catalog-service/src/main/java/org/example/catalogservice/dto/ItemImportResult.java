@@ -0,0 +1,22 @@
+package org.example.catalogservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResult {
+    public enum Status { CREATED, DUPLICATE, INVALID }
+
+    private int row;
+    private String name;
+    private Status status;
+    private String id;
+    private String error;
+}
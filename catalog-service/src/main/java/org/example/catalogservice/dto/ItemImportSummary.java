@@ -0,0 +1,19 @@
+package org.example.catalogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportSummary {
+    private int received;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
@@ -3,6 +3,7 @@ package org.example.catalogservice.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 @Data
@@ -16,6 +17,7 @@ public class ItemRequest {
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
 
+    @NotNull(message = "Price is required")
     @Min(value = 100, message = "Price must be at least 100 rupees")
-    private double price;
+    private Money price;
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ public class ItemResponse {
 
     private String restaurantId;
 
-    private double price;
+    private Money price;
 
     public ItemResponse(Item item) {
         this.id = item.getId();
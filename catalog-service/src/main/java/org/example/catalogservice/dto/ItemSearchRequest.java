@@ -0,0 +1,28 @@
+package org.example.catalogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemSearchRequest {
+    private String text;
+
+    private String tsQuery;
+
+    private String city;
+
+    private String locality;
+
+    private Money minPrice;
+
+    private Money maxPrice;
+
+    private int offset;
+
+    private int limit;
+}
@@ -0,0 +1,32 @@
+package org.example.catalogservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemSearchResult {
+    private String id;
+
+    private String name;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String description;
+
+    private Money price;
+
+    private String restaurantId;
+
+    private String restaurantName;
+
+    private String locality;
+
+    private String city;
+
+    private double rank;
+}
@@ -0,0 +1,124 @@
+package org.example.catalogservice.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * An amount of rupees held as a whole number of paise, so that amounts add up exactly.
+ *
+ * <p>In JSON an amount is a number of rupees with two decimals, such as {@code 199.50}.
+ * It is written from a per-thread character buffer rather than through a string, so the
+ * prices of a response share one buffer. A virtual thread is not reused, so there that is
+ * still one buffer per request. Reading accepts a number or a string with at most two
+ * decimals and rejects anything finer instead of rounding it.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public record Money(long paise) implements Comparable<Money> {
+    private static final int PAISE_PER_RUPEE = 100;
+
+    // Sign, 19 digits, the point and two more digits fit in 23 characters.
+    private static final int MAX_LENGTH = 23;
+    // Reused by every price a thread writes; each new virtual thread allocates its own.
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    public static Money ofPaise(long paise) {
+        return new Money(paise);
+    }
+
+    public static Money ofRupees(long rupees) {
+        return new Money(Math.multiplyExact(rupees, PAISE_PER_RUPEE));
+    }
+
+    /**
+     * Parses an amount of rupees such as {@code 120}, {@code 99.5} or {@code 199.99}.
+     * Spring also uses this to bind request parameters to Money.
+     */
+    public static Money valueOf(String rupees) {
+        try {
+            return new Money(new BigDecimal(rupees.trim()).movePointRight(2).longValueExact());
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new NumberFormatException("Amount has to be in rupees with at most two decimals: " + rupees);
+        }
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public String toString() {
+        char[] buffer = new char[MAX_LENGTH];
+        int start = format(paise, buffer);
+        return new String(buffer, start, buffer.length - start);
+    }
+
+    // Writes the amount in rupees at the end of the buffer and returns where it starts.
+    // Digits are taken off a non-positive value so that Long.MIN_VALUE needs no special case.
+    private static int format(long paise, char[] buffer) {
+        long value = paise < 0 ? paise : -paise;
+        int position = buffer.length;
+
+        int fraction = (int) -(value % PAISE_PER_RUPEE);
+        value /= PAISE_PER_RUPEE;
+        buffer[--position] = (char) ('0' + fraction % 10);
+        buffer[--position] = (char) ('0' + fraction / 10);
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' - value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        if (paise < 0) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+
+    public static final class Serializer extends StdSerializer<Money> {
+        public Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money money, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] buffer = BUFFER.get();
+            int start = format(money.paise, buffer);
+            generator.writeNumber(buffer, start, buffer.length - start);
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<Money> {
+        public Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                    && token != JsonToken.VALUE_STRING) {
+                return (Money) context.handleUnexpectedToken(Money.class, parser);
+            }
+
+            String text = parser.getText();
+            try {
+                return valueOf(text);
+            } catch (NumberFormatException e) {
+                throw InvalidFormatException.from(parser, e.getMessage(), text, Money.class);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.catalogservice.dto;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Lets {@code @Min} apply to {@link Money}, with the bound in whole rupees. Registered
+ * with Hibernate Validator through META-INF/services.
+ */
+public class MoneyMinValidator implements ConstraintValidator<Min, Money> {
+    private long minimumPaise;
+
+    @Override
+    public void initialize(Min constraint) {
+        minimumPaise = Money.ofRupees(constraint.value()).paise();
+    }
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || value.paise() >= minimumPaise;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.catalogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyRestaurant {
+    private RestaurantResponse restaurant;
+
+    private double distanceKm;
+}
@@ -1,6 +1,11 @@
 package org.example.catalogservice.exceptions;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,35 +19,91 @@ import java.util.Map;
 
 import static org.example.catalogservice.constants.Constants.*;
 
+/**
+ * Maps exceptions to responses and counts each branch as {@code catalog.errors}, tagged
+ * with a category (not_found, already_exists, validation or unavailable) and the reason.
+ */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private static final String NOT_FOUND = "not_found";
+    private static final String ALREADY_EXISTS = "already_exists";
+    private static final String VALIDATION = "validation";
+    private static final String UNAVAILABLE = "unavailable";
+
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(value = RestaurantAlreadyExistsException.class)
     public ResponseEntity<String> handleRestaurantAlreadyExistsException() {
+        count(ALREADY_EXISTS, "restaurant_already_exists");
         return ResponseEntity.badRequest().body(RESTAURANT_ALREADY_EXISTS);
     }
 
     @ExceptionHandler(value = RestaurantNotFoundException.class)
     public ResponseEntity<String> handleRestaurantNotFoundException() {
+        count(NOT_FOUND, "restaurant_not_found");
         return ResponseEntity.badRequest().body(RESTAURANT_NOT_FOUND);
     }
 
     @ExceptionHandler(value = ItemAlreadyExistsException.class)
     public ResponseEntity<String> handleItemAlreadyExistsException() {
+        count(ALREADY_EXISTS, "item_already_exists");
         return ResponseEntity.badRequest().body(ITEM_ALREADY_EXISTS);
     }
 
     @ExceptionHandler(value = ItemNotFoundException.class)
     public ResponseEntity<String> handleItemNotFoundException() {
+        count(NOT_FOUND, "item_not_found");
         return ResponseEntity.badRequest().body(ITEM_NOT_FOUND);
     }
 
+    @ExceptionHandler(value = InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException() {
+        count(VALIDATION, "invalid_cursor");
+        return ResponseEntity.badRequest().body(INVALID_CURSOR);
+    }
+
+    @ExceptionHandler(value = InvalidSearchException.class)
+    public ResponseEntity<String> handleInvalidSearchException(InvalidSearchException e) {
+        count(VALIDATION, "invalid_search");
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(value = InvalidBatchException.class)
+    public ResponseEntity<String> handleInvalidBatchException(InvalidBatchException e) {
+        count(VALIDATION, "invalid_batch");
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(value = InvalidLocationException.class)
+    public ResponseEntity<String> handleInvalidLocationException(InvalidLocationException e) {
+        count(VALIDATION, "invalid_location");
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(value = InvalidImportException.class)
+    public ResponseEntity<String> handleInvalidImportException(InvalidImportException e) {
+        count(VALIDATION, "invalid_import");
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(value = {CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<String> handleConnectionPoolExhausted() {
+        count(UNAVAILABLE, "database_busy");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(DATABASE_BUSY);
+    }
+
     @ExceptionHandler(value = HttpMessageNotReadableException.class)
     public ResponseEntity<String> handleHttpMessageNotReadableException(HttpMessageNotReadableException e) {
+        count(VALIDATION, "unreadable_request");
         return ResponseEntity.badRequest().body(e.getMostSpecificCause().getMessage());
     }
 
     @ExceptionHandler(value = MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, List<String>>> handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
+        count(VALIDATION, "invalid_argument");
         List<String> errors = e.getBindingResult().getFieldErrors()
                 .stream().map(FieldError::getDefaultMessage).toList();
 
@@ -50,4 +111,8 @@ public class GlobalExceptionHandler {
         errorResponse.put("errors", errors);
         return ResponseEntity.badRequest().body(errorResponse);
     }
+
+    private void count(String category, String reason) {
+        meterRegistry.counter("catalog.errors", "category", category, "reason", reason).increment();
+    }
 }
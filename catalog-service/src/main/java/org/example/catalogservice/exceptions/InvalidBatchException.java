@@ -0,0 +1,7 @@
+package org.example.catalogservice.exceptions;
+
+public class InvalidBatchException extends RuntimeException {
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.catalogservice.exceptions;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
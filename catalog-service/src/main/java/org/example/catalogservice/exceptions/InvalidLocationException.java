@@ -0,0 +1,7 @@
+package org.example.catalogservice.exceptions;
+
+public class InvalidLocationException extends RuntimeException {
+    public InvalidLocationException(String message) {
+        super(message);
+    }
+}
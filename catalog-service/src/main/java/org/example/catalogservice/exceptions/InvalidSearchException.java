@@ -0,0 +1,7 @@
+package org.example.catalogservice.exceptions;
+
+public class InvalidSearchException extends RuntimeException {
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,11 @@
 package org.example.catalogservice.exceptions;
 
+/**
+ * Thrown for every read of an unknown item and always answered by
+ * GlobalExceptionHandler, so no stack trace is captured.
+ */
 public class ItemNotFoundException extends RuntimeException {
     public ItemNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
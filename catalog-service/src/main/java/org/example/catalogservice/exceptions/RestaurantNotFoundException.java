@@ -1,7 +1,11 @@
 package org.example.catalogservice.exceptions;
 
+/**
+ * Thrown for every read of an unknown restaurant and always answered by
+ * GlobalExceptionHandler, so no stack trace is captured.
+ */
 public class RestaurantNotFoundException extends RuntimeException {
   public RestaurantNotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -0,0 +1,9 @@
+package org.example.catalogservice.indexes;
+
+/**
+ * Fills an in-memory index from the database. Indexes only ever add, so loading one that
+ * is already filled again is harmless and picks up whatever it missed.
+ */
+public interface IndexLoader {
+    void load();
+}
@@ -0,0 +1,283 @@
+package org.example.catalogservice.indexes;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process prefix index over item names for typeahead.
+ *
+ * <p>Catalog-wide completions come from a radix tree keyed by the lower-cased name, in
+ * which every node records how many restaurants offer its name and the largest such
+ * count below it; top-k is a best-first walk that never visits a subtree which cannot
+ * beat the completions already found. Completions scoped to one restaurant come from
+ * that restaurant's names kept in a sorted array, returned in alphabetical order.
+ *
+ * <p>Names are only ever added: a (restaurant, name) pair is counted once however many
+ * times it is added, so replaying a write that the startup load already saw is harmless.
+ */
+@Component
+public class ItemNameIndex {
+    private static final String[] NO_NAMES = new String[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<String, RestaurantNames> restaurants = new HashMap<>();
+    private int size;
+
+    public void add(String restaurantId, String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+
+        lock.writeLock().lock();
+        try {
+            if (restaurants.computeIfAbsent(restaurantId, id -> new RestaurantNames()).add(key, name)) {
+                size++;
+                insert(key, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} names starting with the prefix, ignoring case, most widely
+     * offered first.
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            Node start = find(key);
+            if (start == null) {
+                return List.of();
+            }
+            return topK(start, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} names on the restaurant's menu starting with the prefix,
+     * ignoring case, in alphabetical order.
+     */
+    public List<String> complete(String restaurantId, String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            RestaurantNames names = restaurants.get(restaurantId);
+            return names == null ? List.of() : names.complete(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct (restaurant, name) pairs in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String key, String name) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+
+        while (true) {
+            path.add(node);
+            if (position == key.length()) {
+                break;
+            }
+
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children = new Node[]{child};
+                split.best = child.best;
+                node.children[index] = split;
+                child = split;
+            }
+            node = child;
+            position += common;
+        }
+
+        if (node.count++ == 0) {
+            node.name = name;
+        }
+        for (Node visited : path) {
+            visited.best = Math.max(visited.best, node.count);
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+
+        while (position < key.length()) {
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, position);
+            if (position + common == key.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            position += common;
+        }
+        return node;
+    }
+
+    private static List<String> topK(Node start, int limit) {
+        List<String> completions = new ArrayList<>(limit);
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Candidate.ORDER);
+        long sequence = 0;
+        queue.add(new Candidate(start, start.best, false, sequence++));
+
+        while (!queue.isEmpty() && completions.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.terminal) {
+                completions.add(candidate.node.name);
+                continue;
+            }
+
+            Node node = candidate.node;
+            if (node.count > 0) {
+                queue.add(new Candidate(node, node.count, true, sequence++));
+            }
+            for (Node child : node.children) {
+                queue.add(new Candidate(child, child.best, false, sequence++));
+            }
+        }
+        return completions;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+        private static final Node[] LEAF = new Node[0];
+
+        private String label;
+        private Node[] children = LEAF;
+        private String name;
+        private int count;
+        private int best;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insertChild(int index, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, index);
+            grown[index] = child;
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            children = grown;
+        }
+    }
+
+    /**
+     * A node to expand, or a name to emit, ranked by the best count it can yield. On a
+     * tie a name is emitted before subtrees are expanded, and otherwise candidates are
+     * taken in the order they were found so that results are stable.
+     */
+    private record Candidate(Node node, int priority, boolean terminal, long sequence) {
+        private static final Comparator<Candidate> ORDER = Comparator
+                .comparingInt(Candidate::priority).reversed()
+                .thenComparing(Candidate::terminal, Comparator.reverseOrder())
+                .thenComparingLong(Candidate::sequence);
+    }
+
+    private static final class RestaurantNames {
+        private String[] keys = NO_NAMES;
+        private String[] names = NO_NAMES;
+
+        private boolean add(String key, String name) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return false;
+            }
+
+            int at = -index - 1;
+            keys = insert(keys, at, key);
+            names = insert(names, at, key.equals(name) ? key : name);
+            return true;
+        }
+
+        private List<String> complete(String prefix, int limit) {
+            int index = Arrays.binarySearch(keys, prefix);
+            int from = index >= 0 ? index : -index - 1;
+
+            List<String> completions = new ArrayList<>(Math.min(limit, keys.length - from));
+            for (int i = from; i < keys.length && completions.size() < limit && keys[i].startsWith(prefix); i++) {
+                completions.add(names[i]);
+            }
+            return completions;
+        }
+
+        private static String[] insert(String[] values, int index, String value) {
+            String[] grown = new String[values.length + 1];
+            System.arraycopy(values, 0, grown, 0, index);
+            grown[index] = value;
+            System.arraycopy(values, index, grown, index + 1, values.length - index);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.catalogservice.indexes;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Fills the {@link ItemNameIndex} from food_items, so typeahead never answers from an
+ * empty index. Items committed while the load runs are added by ItemsService as well;
+ * the index ignores the repeat.
+ */
+@Component
+public class ItemNameIndexLoader extends StreamingIndexLoader {
+    private static final String LOAD_QUERY = "SELECT restaurant_id, name FROM food_items";
+
+    private final ItemNameIndex itemNameIndex;
+
+    public ItemNameIndexLoader(ItemNameIndex itemNameIndex, JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate, LOAD_QUERY, "item names into the typeahead index");
+        this.itemNameIndex = itemNameIndex;
+    }
+
+    @Override
+    protected void add(ResultSet row) throws SQLException {
+        itemNameIndex.add(row.getString("restaurant_id"), row.getString("name"));
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.catalogservice.indexes;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process spatial index over restaurant coordinates for nearest-neighbour queries.
+ *
+ * <p>Restaurants are bucketed into a fixed grid of {@value #CELL_DEGREES} degree cells
+ * (about 1.1 km north to south). A query scans rings of cells outwards from the cell
+ * holding the query point and stops once no unscanned cell can be closer than the
+ * radius or than the k-th nearest restaurant found so far.
+ *
+ * <p>Restaurants are only ever added; adding one that is already indexed is ignored.
+ */
+@Component
+public class RestaurantGeoIndex {
+    static final double CELL_DEGREES = 0.01;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double CELL_KM = Math.toRadians(CELL_DEGREES) * EARTH_RADIUS_KM;
+    private static final int LATITUDE_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double MIN_COSINE = Math.cos(Math.toRadians(80));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private int size;
+
+    public record Nearby(String id, double distanceKm) {}
+
+    public void add(String id, double latitude, double longitude) {
+        long key = key(latitudeCell(latitude), longitudeCell(longitude));
+
+        lock.writeLock().lock();
+        try {
+            if (cells.computeIfAbsent(key, k -> new Cell()).add(id, latitude, longitude)) {
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} restaurants within {@code radiusKm} of the point, nearest first.
+     */
+    public List<Nearby> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        int latitudeCell = latitudeCell(latitude);
+        int longitudeCell = longitudeCell(longitude);
+
+        // Lower bound on the east-west width of a cell anywhere within the radius.
+        double reach = Math.min(90, Math.abs(latitude) + Math.toDegrees(radiusKm / EARTH_RADIUS_KM) + CELL_DEGREES);
+        double cellKm = CELL_KM * Math.max(Math.cos(Math.toRadians(reach)), MIN_COSINE);
+        int maxRing = (int) Math.ceil(radiusKm / cellKm) + 1;
+
+        PriorityQueue<Nearby> nearest = new PriorityQueue<>(Comparator.comparingDouble(Nearby::distanceKm).reversed());
+
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ring <= maxRing; ring++) {
+                if (ring == 0) {
+                    scan(latitudeCell, longitudeCell, latitude, longitude, radiusKm, limit, nearest);
+                } else {
+                    for (int offset = -ring; offset <= ring; offset++) {
+                        scan(latitudeCell - ring, longitudeCell + offset, latitude, longitude, radiusKm, limit, nearest);
+                        scan(latitudeCell + ring, longitudeCell + offset, latitude, longitude, radiusKm, limit, nearest);
+                    }
+                    for (int offset = -ring + 1; offset < ring; offset++) {
+                        scan(latitudeCell + offset, longitudeCell - ring, latitude, longitude, radiusKm, limit, nearest);
+                        scan(latitudeCell + offset, longitudeCell + ring, latitude, longitude, radiusKm, limit, nearest);
+                    }
+                }
+
+                // Every cell outside the rings scanned so far is at least this far away.
+                double unscanned = ring * cellKm;
+                if (unscanned > radiusKm || (nearest.size() == limit && unscanned >= nearest.peek().distanceKm())) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Nearby[] sorted = nearest.toArray(new Nearby[0]);
+        Arrays.sort(sorted, Comparator.comparingDouble(Nearby::distanceKm));
+        return List.of(sorted);
+    }
+
+    /**
+     * Number of restaurants in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scan(int latitudeCell, int longitudeCell, double latitude, double longitude, double radiusKm,
+                      int limit, PriorityQueue<Nearby> nearest) {
+        if (latitudeCell < 0 || latitudeCell >= LATITUDE_CELLS) {
+            return;
+        }
+
+        Cell cell = cells.get(key(latitudeCell, Math.floorMod(longitudeCell, LONGITUDE_CELLS)));
+        if (cell == null) {
+            return;
+        }
+
+        for (int i = 0; i < cell.size; i++) {
+            double distanceKm = distanceKm(latitude, longitude, cell.latitudes[i], cell.longitudes[i]);
+            if (distanceKm > radiusKm) {
+                continue;
+            }
+            if (nearest.size() < limit) {
+                nearest.add(new Nearby(cell.ids[i], distanceKm));
+            } else if (distanceKm < nearest.peek().distanceKm()) {
+                nearest.poll();
+                nearest.add(new Nearby(cell.ids[i], distanceKm));
+            }
+        }
+    }
+
+    static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+        double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.pow(Math.sin(latitudeDelta / 2), 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int latitudeCell(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / CELL_DEGREES), LATITUDE_CELLS - 1);
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LONGITUDE_CELLS);
+    }
+
+    private static long key(int latitudeCell, int longitudeCell) {
+        return (long) latitudeCell * LONGITUDE_CELLS + longitudeCell;
+    }
+
+    private static final class Cell {
+        private String[] ids = new String[2];
+        private double[] latitudes = new double[2];
+        private double[] longitudes = new double[2];
+        private int size;
+
+        private boolean add(String id, double latitude, double longitude) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i].equals(id)) {
+                    return false;
+                }
+            }
+
+            if (size == ids.length) {
+                int capacity = size + (size >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.catalogservice.indexes;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Fills the {@link RestaurantGeoIndex} from the restaurants that have coordinates, so
+ * nearby searches never answer from an empty index. Restaurants created while the load
+ * runs are added by RestaurantsService as well; the index ignores the repeat.
+ */
+@Component
+public class RestaurantGeoIndexLoader extends StreamingIndexLoader {
+    private static final String LOAD_QUERY = "SELECT id, latitude, longitude FROM restaurants "
+            + "WHERE latitude IS NOT NULL AND longitude IS NOT NULL";
+
+    private final RestaurantGeoIndex restaurantGeoIndex;
+
+    public RestaurantGeoIndexLoader(RestaurantGeoIndex restaurantGeoIndex, JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate, LOAD_QUERY, "restaurants into the geo index");
+        this.restaurantGeoIndex = restaurantGeoIndex;
+    }
+
+    @Override
+    protected void add(ResultSet row) throws SQLException {
+        restaurantGeoIndex.add(row.getString("id"), row.getDouble("latitude"), row.getDouble("longitude"));
+    }
+}
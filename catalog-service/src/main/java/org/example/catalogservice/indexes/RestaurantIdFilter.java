@@ -0,0 +1,127 @@
+package org.example.catalogservice.indexes;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over restaurant ids, so that reads for ids that were never created can be
+ * rejected without a database round trip. It answers "maybe" for every id until
+ * {@link RestaurantIdFilterLoader} has added all restaurants and the change feed is being
+ * followed, and never forgets an id, so it can only ever let an unknown id through, at
+ * the configured false positive rate while it holds no more than the expected number of
+ * restaurants.
+ *
+ * <p>Restaurants created on another instance are added when the change feed reaches
+ * them, or as soon as an item is added to them here. Until then they are rejected,
+ * except for reads pinned to the primary (see {@link #rejects}). Rejections are
+ * published as {@code catalog.restaurants.filter.rejections}.
+ */
+@Component
+public class RestaurantIdFilter implements MeterBinder {
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final LongAdder rejections = new LongAdder();
+    private volatile boolean loaded;
+    private volatile boolean following;
+
+    public RestaurantIdFilter(@Value("${catalog.restaurants.filter.expected-restaurants:1000000}") long expectedRestaurants,
+                              @Value("${catalog.restaurants.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        double optimalBits = -expectedRestaurants * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (long) Math.ceil(optimalBits / Long.SIZE)));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedRestaurants * Math.log(2)));
+    }
+
+    public void add(String restaurantId) {
+        long hash = hash(restaurantId);
+        long step = mix(hash ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < hashes; i++) {
+            long index = ((hash + i * step) & Long.MAX_VALUE) % bits;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /**
+     * False only if the restaurant was definitely never added, once the filter is loaded.
+     */
+    public boolean mightContain(String restaurantId) {
+        if (!loaded || !following) {
+            return true;
+        }
+
+        long hash = hash(restaurantId);
+        long step = mix(hash ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < hashes; i++) {
+            long index = ((hash + i * step) & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                rejections.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * True when a read of the restaurant can be answered "not found" without the database.
+     * Reads pinned to the primary never are: they come from clients inside the
+     * read-your-writes window, who may have just created the restaurant on another
+     * instance.
+     */
+    public boolean rejects(String restaurantId) {
+        return !DataSourceRouting.isPinnedToPrimary() && !mightContain(restaurantId);
+    }
+
+    /**
+     * Called once every existing restaurant has been added; until then nothing is rejected.
+     */
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Called once the change feed is being followed, so that restaurants created on other
+     * instances keep being added; until then nothing is rejected.
+     */
+    public void markFollowing() {
+        following = true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.restaurants.filter.rejections", rejections, LongAdder::sum)
+                .description("Reads of unknown restaurant ids answered without the database")
+                .register(registry);
+    }
+
+    // FNV-1a over the UTF-16 code units, spread with the MurmurHash3 finalizer.
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.catalogservice.indexes;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Adds every restaurant id to the {@link RestaurantIdFilter}, and only then lets the
+ * filter reject ids. A failed load fails startup; with
+ * {@code catalog.restaurants.filter.enabled} false the filter lets every id through.
+ * Restaurants created while the load runs are added by RestaurantsService and the change
+ * feed as well.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.restaurants.filter.enabled", havingValue = "true", matchIfMissing = true)
+public class RestaurantIdFilterLoader extends StreamingIndexLoader {
+    private static final String LOAD_QUERY = "SELECT id FROM restaurants";
+
+    private final RestaurantIdFilter restaurantIdFilter;
+
+    public RestaurantIdFilterLoader(RestaurantIdFilter restaurantIdFilter, JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate, LOAD_QUERY, "restaurant ids into the id filter");
+        this.restaurantIdFilter = restaurantIdFilter;
+    }
+
+    @Override
+    protected void add(ResultSet row) throws SQLException {
+        restaurantIdFilter.add(row.getString("id"));
+    }
+
+    @Override
+    protected void loaded() {
+        restaurantIdFilter.markLoaded();
+    }
+}
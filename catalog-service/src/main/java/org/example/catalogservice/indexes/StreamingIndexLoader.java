@@ -0,0 +1,74 @@
+package org.example.catalogservice.indexes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.catalogservice.constants.Constants.EXPORT_FETCH_SIZE;
+
+/**
+ * An {@link IndexLoader} that streams one query into its index before the application
+ * reports ready, ahead of the menu warmup. The query runs on the primary, so that a
+ * replica that is behind cannot leave rows out, and is read forward-only in fetches of
+ * {@code EXPORT_FETCH_SIZE} rows rather than held in memory whole. Subclasses give the
+ * query and add each row to their index.
+ */
+@Slf4j
+public abstract class StreamingIndexLoader implements IndexLoader, ApplicationRunner, Ordered {
+    private final JdbcTemplate jdbcTemplate;
+    private final String query;
+    // What is loaded, for the log line: "{rows} {description} in {ms} ms".
+    private final String description;
+
+    protected StreamingIndexLoader(JdbcTemplate jdbcTemplate, String query, String description) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.query = query;
+        this.description = description;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void load() {
+        long startedAt = System.nanoTime();
+        long[] rows = new long[1];
+
+        DataSourceRouting.onPrimary(() -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(query,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            add(resultSet);
+            rows[0]++;
+        }));
+        loaded();
+
+        log.info("Loaded {} {} in {} ms", rows[0], description,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    protected abstract void add(ResultSet row) throws SQLException;
+
+    // Called once every row has been added.
+    protected void loaded() {}
+}
@@ -0,0 +1,52 @@
+package org.example.catalogservice.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Publishes {@code catalog.datasource.saturation}, the share of the Hikari pool's
+ * connections that are in use, next to the {@code hikaricp.connections.*} meters that
+ * Spring Boot registers. Sustained values near 1 together with a non-zero
+ * {@code hikaricp.connections.pending} mean requests are queueing for connections.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataSourceSaturationMetrics implements MeterBinder {
+    private final DataSource dataSource;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        HikariDataSource hikari = unwrap();
+        if (hikari == null) {
+            return;
+        }
+
+        Gauge.builder("catalog.datasource.saturation", hikari, DataSourceSaturationMetrics::saturation)
+                .description("Active connections as a share of the maximum pool size")
+                .register(registry);
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+
+    private HikariDataSource unwrap() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
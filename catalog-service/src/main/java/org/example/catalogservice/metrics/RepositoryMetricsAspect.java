@@ -0,0 +1,92 @@
+package org.example.catalogservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call to a catalog repository and records how many rows it returned or
+ * changed.
+ *
+ * <p>{@code catalog.repository.calls} is a timer tagged with the repository, the method
+ * and the outcome. {@code catalog.repository.rows} counts the rows of collection and
+ * optional results and the rows changed by {@code @Modifying} queries.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+    private static final String PACKAGE = "org.example.catalogservice.repositories";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("this(org.springframework.data.repository.Repository) || within(org.example.catalogservice.repositories..*)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getThis().getClass());
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String method = signature.getName();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            recordRows(repository, method, signature, result);
+            return result;
+        } finally {
+            sample.stop(Timer.builder("catalog.repository.calls")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordRows(String repository, String method, MethodSignature signature, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else if (result instanceof Number number && signature.getMethod().isAnnotationPresent(Modifying.class)) {
+            rows = number.longValue();
+        } else {
+            return;
+        }
+
+        DistributionSummary.builder("catalog.repository.rows")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * The simple name of the catalog interface a Spring Data proxy implements, or of the
+     * repository class itself.
+     */
+    private String repositoryName(Class<?> type) {
+        return repositoryNames.computeIfAbsent(type, proxyType -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(proxyType)) {
+                if (candidate.getName().startsWith(PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(proxyType).getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.catalogservice.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * One committed catalog write, as recorded in the catalog_changes outbox. The payload is
+ * the JSON of the created restaurant or item as the write API returned it.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "catalog_changes")
+public class CatalogChange {
+    public enum Type {
+        RESTAURANT_CREATED,
+        ITEM_ADDED
+    }
+
+    @Id
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(nullable = false)
+    private String restaurantId;
+
+    @Column(nullable = false)
+    private String entityId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,29 @@
+package org.example.catalogservice.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The counter row that CatalogChangesService allocates change sequence numbers from.
+ * It is only ever updated in place with SQL.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "catalog_change_sequence")
+public class CatalogChangeSequence {
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+}
@@ -1,25 +1,34 @@
 package org.example.catalogservice.models;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.example.catalogservice.dto.Money;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "food_items")
+@Table(name = "food_items", uniqueConstraints = @UniqueConstraint(
+        name = "ux_food_items_restaurant_id_name", columnNames = {"restaurant_id", "name"}))
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -30,10 +39,12 @@ public class Item {
 
     private String description;
 
-    @Column(nullable = false)
-    private Double price;
+    @Column(name = "price_paise", nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    private Money price;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
+    @ToString.Exclude
     private Restaurant restaurant;
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package org.example.catalogservice.models;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.example.catalogservice.dto.Money;
+
+/**
+ * Stores {@link Money} as its number of paise in a BIGINT column.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.paise();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long paise) {
+        return paise == null ? null : Money.ofPaise(paise);
+    }
+}
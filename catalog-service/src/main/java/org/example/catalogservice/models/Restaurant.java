@@ -5,17 +5,24 @@ import jakarta.persistence.*;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.example.catalogservice.dto.Address;
 
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+// Name and address are unique through ux_restaurants_name_address (V2), which counts a
+// missing zipcode as ''. A JPA unique constraint cannot say that, and one over the
+// nullable zipcode would let restaurants without one be duplicated.
 @Table(name = "restaurants")
 public class Restaurant {
     @Id
@@ -28,6 +35,7 @@ public class Restaurant {
     @Column(nullable = false)
     private Address address;
 
-    @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ToString.Exclude
     private List<Item> items;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package org.example.catalogservice.repositories;
+
+import org.example.catalogservice.models.CatalogChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CatalogChangesRepository extends JpaRepository<CatalogChange, Long> {
+    List<CatalogChange> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Limit limit);
+
+    @Query("SELECT coalesce(max(c.sequence), 0) FROM CatalogChange c")
+    long findLastSequence();
+}
@@ -0,0 +1,77 @@
+package org.example.catalogservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.dto.ItemSearchRequest;
+import org.example.catalogservice.dto.ItemSearchResult;
+import org.example.catalogservice.dto.Money;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Catalog-wide item search on PostgreSQL. Matches come from the full-text index on
+ * name and description (with the last term as a prefix for typeahead) or from the
+ * trigram index on name for misspellings, and are ranked by both.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemSearchRepository {
+    private static final String DOCUMENT = "to_tsvector('simple', i.name || ' ' || coalesce(i.description, ''))";
+
+    private static final RowMapper<ItemSearchResult> ROW_MAPPER = (resultSet, rowNum) -> ItemSearchResult.builder()
+            .id(resultSet.getString("id"))
+            .name(resultSet.getString("name"))
+            .description(resultSet.getString("description"))
+            .price(Money.ofPaise(resultSet.getLong("price_paise")))
+            .restaurantId(resultSet.getString("restaurant_id"))
+            .restaurantName(resultSet.getString("restaurant_name"))
+            .locality(resultSet.getString("locality"))
+            .city(resultSet.getString("city"))
+            .rank(resultSet.getDouble("rank"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<ItemSearchResult> search(ItemSearchRequest request) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("text", request.getText())
+                .addValue("tsQuery", request.getTsQuery())
+                .addValue("limit", request.getLimit())
+                .addValue("offset", request.getOffset());
+
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT i.id, i.name, i.description, i.price_paise, i.restaurant_id, ")
+                .append("r.name AS restaurant_name, r.locality, r.city, ")
+                .append("ts_rank_cd(").append(DOCUMENT).append(", q.query) + similarity(i.name, :text) AS rank ")
+                .append("FROM food_items i ")
+                .append("JOIN restaurants r ON r.id = i.restaurant_id ")
+                .append("CROSS JOIN to_tsquery('simple', :tsQuery) AS q(query) ")
+                .append("WHERE (").append(DOCUMENT).append(" @@ q.query OR i.name % :text)");
+
+        if (request.getCity() != null) {
+            sql.append(" AND lower(r.city) = lower(:city)");
+            parameters.addValue("city", request.getCity());
+        }
+        if (request.getLocality() != null) {
+            sql.append(" AND lower(r.locality) = lower(:locality)");
+            parameters.addValue("locality", request.getLocality());
+        }
+        if (request.getMinPrice() != null) {
+            sql.append(" AND i.price_paise >= :minPrice");
+            parameters.addValue("minPrice", request.getMinPrice().paise());
+        }
+        if (request.getMaxPrice() != null) {
+            sql.append(" AND i.price_paise <= :maxPrice");
+            parameters.addValue("maxPrice", request.getMaxPrice().paise());
+        }
+
+        sql.append(" ORDER BY rank DESC, i.id LIMIT :limit OFFSET :offset");
+
+        return jdbcTemplate.query(sql.toString(), parameters, ROW_MAPPER);
+    }
+}
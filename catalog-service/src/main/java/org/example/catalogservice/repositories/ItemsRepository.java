@@ -1,14 +1,51 @@
 package org.example.catalogservice.repositories;
 
+import org.example.catalogservice.dto.ItemResponse;
 import org.example.catalogservice.models.Item;
-import org.example.catalogservice.models.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Reads select only the columns of {@link ItemResponse}, so neither the item entity nor
+ * its restaurant is loaded; {@code i.restaurant.id} is the foreign key column itself.
+ * Menu reads are read-only transactions, which go to a replica when replicas are set up.
+ */
 public interface ItemsRepository extends JpaRepository<Item, String> {
-    boolean existsByNameAndRestaurant(String name, Restaurant restaurant);
-    List<Item> findAllByRestaurant(Restaurant restaurant);
-    Optional<Item> findByNameAndRestaurant(String name, Restaurant restaurant);
-}
\ No newline at end of file
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.example.catalogservice.dto.ItemResponse(i.id, i.name, i.description, i.restaurant.id, i.price) "
+            + "FROM Item i WHERE i.restaurant.id = :restaurantId")
+    List<ItemResponse> findAllByRestaurantId(@Param("restaurantId") String restaurantId);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.example.catalogservice.dto.ItemResponse(i.id, i.name, i.description, i.restaurant.id, i.price) "
+            + "FROM Item i WHERE i.restaurant.id IN :restaurantIds")
+    List<ItemResponse> findAllByRestaurantIdIn(@Param("restaurantIds") Collection<String> restaurantIds);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.example.catalogservice.dto.ItemResponse(i.id, i.name, i.description, i.restaurant.id, i.price) "
+            + "FROM Item i WHERE i.restaurant.id = :restaurantId AND i.name = :name")
+    Optional<ItemResponse> findByNameAndRestaurantId(@Param("name") String name, @Param("restaurantId") String restaurantId);
+
+    /**
+     * Inserts the item unless one with the same name is already on the restaurant's menu.
+     * Returns the number of inserted rows, so 0 means the item already exists. Any other
+     * violation, such as a colliding id, still fails.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO food_items (id, name, description, price_paise, restaurant_id) "
+            + "VALUES (:id, :name, :description, :pricePaise, :restaurantId) "
+            + "ON CONFLICT (restaurant_id, name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("name") String name, @Param("description") String description,
+                       @Param("pricePaise") long pricePaise, @Param("restaurantId") String restaurantId);
+
+    @Query("SELECT i.name FROM Item i WHERE i.restaurant.id = :restaurantId AND i.name IN :names")
+    List<String> findNamesByRestaurantIdAndNameIn(@Param("restaurantId") String restaurantId, @Param("names") Collection<String> names);
+}
@@ -0,0 +1,73 @@
+package org.example.catalogservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Restaurant reads mapped straight from rows into {@link RestaurantResponse}, so no
+ * entity is loaded into a persistence context, snapshotted for dirty checking or copied
+ * field by field afterwards. Writes stay on {@link RestaurantsRepository}. Reads run in
+ * read-only transactions so that they go to a replica when replicas are set up.
+ */
+@Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class RestaurantReadRepository {
+    private static final String SELECT = "SELECT id, name, building_number, street, locality, city, state, country, zipcode, "
+            + "latitude, longitude FROM restaurants";
+
+    public static final RowMapper<RestaurantResponse> ROW_MAPPER = (resultSet, rowNum) -> RestaurantResponse.builder()
+            .id(resultSet.getString("id"))
+            .name(resultSet.getString("name"))
+            .address(Address.builder()
+                    .buildingNumber(resultSet.getInt("building_number"))
+                    .street(resultSet.getString("street"))
+                    .locality(resultSet.getString("locality"))
+                    .city(resultSet.getString("city"))
+                    .state(resultSet.getString("state"))
+                    .country(resultSet.getString("country"))
+                    .zipcode(resultSet.getString("zipcode"))
+                    .latitude(resultSet.getObject("latitude", Double.class))
+                    .longitude(resultSet.getObject("longitude", Double.class))
+                    .build())
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<RestaurantResponse> findById(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = :id", new MapSqlParameterSource("id", id), ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * The restaurants with the given ids, in no particular order; unknown ids are skipped.
+     */
+    public List<RestaurantResponse> findAllById(Collection<String> ids) {
+        return jdbcTemplate.query(SELECT + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids), ROW_MAPPER);
+    }
+
+    /**
+     * Up to {@code limit} restaurants in id order, starting after {@code afterId}, or from
+     * the first restaurant when it is null.
+     */
+    public List<RestaurantResponse> findPage(String afterId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("limit", limit);
+        if (afterId == null) {
+            return jdbcTemplate.query(SELECT + " ORDER BY id LIMIT :limit", parameters, ROW_MAPPER);
+        }
+
+        parameters.addValue("afterId", afterId);
+        return jdbcTemplate.query(SELECT + " WHERE id > :afterId ORDER BY id LIMIT :limit", parameters, ROW_MAPPER);
+    }
+}
@@ -1,10 +1,36 @@
 package org.example.catalogservice.repositories;
 
-
 import org.example.catalogservice.dto.Address;
 import org.example.catalogservice.models.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface RestaurantsRepository extends JpaRepository<Restaurant, String> {
-    boolean existsByNameAndAddress(String name, Address address);
-}
\ No newline at end of file
+    @Transactional(readOnly = true)
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id IN :ids")
+    List<String> findIdsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Inserts the restaurant unless one with the same name and address exists.
+     * Returns the number of inserted rows, so 0 means the restaurant already exists.
+     * The conflict target is the expression list of ux_restaurants_name_address, so that
+     * only a duplicate name and address is skipped and any other violation, such as a
+     * colliding id, still fails.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO restaurants (id, name, building_number, street, locality, city, state, country, zipcode, "
+            + "latitude, longitude) "
+            + "VALUES (:id, :name, :#{#address?.buildingNumber}, :#{#address?.street}, :#{#address?.locality}, "
+            + ":#{#address?.city}, :#{#address?.state}, :#{#address?.country}, :#{#address?.zipcode}, "
+            + ":#{#address?.latitude}, :#{#address?.longitude}) "
+            + "ON CONFLICT (name, building_number, street, locality, city, state, country, COALESCE(zipcode, '')) "
+            + "DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("name") String name, @Param("address") Address address);
+}
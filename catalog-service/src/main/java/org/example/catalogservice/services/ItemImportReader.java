@@ -0,0 +1,182 @@
+package org.example.catalogservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.dto.ItemRequest;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.exceptions.InvalidImportException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.example.catalogservice.constants.Constants.TEXT_CSV_VALUE;
+
+/**
+ * Reads menu imports line by line, either as NDJSON {@link ItemRequest} documents or as
+ * CSV with a {@code name,description,price} header. A malformed line becomes a row with
+ * an error instead of failing the whole import.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemImportReader {
+    private static final MediaType TEXT_CSV = MediaType.valueOf(TEXT_CSV_VALUE);
+
+    private final ObjectMapper objectMapper;
+
+    public record Row(int number, ItemRequest request, String error) {
+        static Row valid(int number, ItemRequest request) {
+            return new Row(number, request, null);
+        }
+
+        static Row invalid(int number, String error) {
+            return new Row(number, null, error);
+        }
+    }
+
+    public List<Row> read(InputStream inputStream, MediaType contentType, int maxRows) throws IOException {
+        Charset charset = contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, charset));
+
+        if (MediaType.APPLICATION_NDJSON.includes(contentType)) {
+            return readNdjson(reader, maxRows);
+        }
+        if (TEXT_CSV.includes(contentType)) {
+            return readCsv(reader, maxRows);
+        }
+        throw new InvalidImportException("Unsupported import format " + contentType);
+    }
+
+    private List<Row> readNdjson(BufferedReader reader, int maxRows) throws IOException {
+        ObjectReader itemReader = objectMapper.readerFor(ItemRequest.class);
+        List<Row> rows = new ArrayList<>();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int number = nextRowNumber(rows, maxRows);
+            try {
+                rows.add(Row.valid(number, itemReader.readValue(line)));
+            } catch (JsonProcessingException e) {
+                rows.add(Row.invalid(number, "Malformed row: " + e.getOriginalMessage()));
+            }
+        }
+        return rows;
+    }
+
+    private List<Row> readCsv(BufferedReader reader, int maxRows) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return List.of();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new InvalidImportException("CSV header must contain name and price columns");
+        }
+
+        List<Row> rows = new ArrayList<>();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int number = nextRowNumber(rows, maxRows);
+            try {
+                rows.add(toRow(number, splitCsvLine(line), columns));
+            } catch (IllegalArgumentException e) {
+                rows.add(Row.invalid(number, "Malformed row: " + e.getMessage()));
+            }
+        }
+        return rows;
+    }
+
+    private static int nextRowNumber(List<Row> rows, int maxRows) {
+        if (rows.size() >= maxRows) {
+            throw new InvalidImportException("An import can contain at most " + maxRows + " rows");
+        }
+        return rows.size() + 1;
+    }
+
+    private static Row toRow(int number, List<String> values, Map<String, Integer> columns) {
+        String name = column(values, columns, "name");
+        String price = column(values, columns, "price");
+
+        if (name == null || name.isBlank()) {
+            return Row.invalid(number, "Name is required");
+        }
+        if (price == null || price.isBlank()) {
+            return Row.invalid(number, "Price is required");
+        }
+
+        ItemRequest request = ItemRequest.builder()
+                .name(name)
+                .description(column(values, columns, "description"))
+                .price(Money.valueOf(price))
+                .build();
+        return Row.valid(number, request);
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields on a single line: commas separate fields, double quotes wrap fields
+    // and a doubled quote inside a quoted field stands for one quote.
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.catalogservice.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.ItemSearchRequest;
+import org.example.catalogservice.dto.ItemSearchResult;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.exceptions.InvalidCursorException;
+import org.example.catalogservice.exceptions.InvalidSearchException;
+import org.example.catalogservice.indexes.ItemNameIndex;
+import org.example.catalogservice.repositories.ItemSearchRepository;
+import org.example.catalogservice.utils.Cursors;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.example.catalogservice.constants.Constants.DEFAULT_SEARCH_PAGE_SIZE;
+import static org.example.catalogservice.constants.Constants.DEFAULT_TYPEAHEAD_SIZE;
+import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.example.catalogservice.constants.Constants.INVALID_PRICE_RANGE;
+import static org.example.catalogservice.constants.Constants.MAX_SEARCH_PAGE_SIZE;
+import static org.example.catalogservice.constants.Constants.MAX_SEARCH_RESULTS;
+import static org.example.catalogservice.constants.Constants.MAX_SEARCH_TERMS;
+import static org.example.catalogservice.constants.Constants.MAX_TYPEAHEAD_SIZE;
+import static org.example.catalogservice.constants.Constants.SEARCH_TEXT_REQUIRED;
+import static org.example.catalogservice.constants.Constants.TYPEAHEAD_PREFIX_REQUIRED;
+
+@Service
+@RequiredArgsConstructor
+public class ItemSearchService {
+    private final ItemSearchRepository itemSearchRepository;
+    private final ItemNameIndex itemNameIndex;
+
+    /**
+     * Ranked search across every restaurant's menu. Results are paged by an opaque
+     * cursor over the result offset, and paging stops after {@code MAX_SEARCH_RESULTS}
+     * hits so that deep offsets cannot degrade into scanning the whole match set.
+     */
+    public ResponseEntity<ApiResponse> search(String text, String city, String locality, Money minPrice,
+                                              Money maxPrice, String cursor, Integer size) {
+        String tsQuery = toTsQuery(text);
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidSearchException(INVALID_PRICE_RANGE);
+        }
+
+        int pageSize = pageSize(size);
+        int offset = cursor == null ? 0 : decodeOffset(cursor);
+        int limit = Math.min(pageSize, MAX_SEARCH_RESULTS - offset);
+
+        ItemSearchRequest request = ItemSearchRequest.builder()
+                .text(text.trim())
+                .tsQuery(tsQuery)
+                .city(blankToNull(city))
+                .locality(blankToNull(locality))
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .offset(offset)
+                .limit(limit + 1)
+                .build();
+        List<ItemSearchResult> results = itemSearchRepository.search(request);
+
+        boolean hasMore = results.size() > limit && offset + limit < MAX_SEARCH_RESULTS;
+        List<ItemSearchResult> page = new ArrayList<>(results.subList(0, Math.min(results.size(), limit)));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("items", page);
+        if (hasMore) {
+            data.put("nextCursor", Cursors.encode(String.valueOf(offset + limit)));
+        }
+
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(data)
+                .build();
+
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Name completions from the in-memory {@link ItemNameIndex}, across the catalog or
+     * within one restaurant; the database is not queried.
+     */
+    public ResponseEntity<ApiResponse> typeahead(String prefix, String restaurantId, Integer size) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidSearchException(TYPEAHEAD_PREFIX_REQUIRED);
+        }
+
+        int limit = size == null ? DEFAULT_TYPEAHEAD_SIZE : Math.max(1, Math.min(size, MAX_TYPEAHEAD_SIZE));
+        String trimmed = prefix.stripLeading();
+        List<String> names = restaurantId == null
+                ? itemNameIndex.complete(trimmed, limit)
+                : itemNameIndex.complete(restaurantId, trimmed, limit);
+
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("names", names))
+                .build();
+
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Turns free text into a tsquery that requires every term and treats the last
+     * one as a prefix, so "chicken biry" matches "Chicken Biryani". Only letters and
+     * digits survive, which keeps tsquery operators in user input from being parsed.
+     */
+    static String toTsQuery(String text) {
+        if (text == null) {
+            throw new InvalidSearchException(SEARCH_TEXT_REQUIRED);
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String term: text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty() && terms.size() < MAX_SEARCH_TERMS) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new InvalidSearchException(SEARCH_TEXT_REQUIRED);
+        }
+
+        return String.join(" & ", terms) + ":*";
+    }
+
+    private static int decodeOffset(String cursor) {
+        try {
+            int offset = Integer.parseInt(Cursors.decode(cursor));
+            if (offset <= 0 || offset >= MAX_SEARCH_RESULTS) {
+                throw new InvalidCursorException("Cursor is out of range");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+    }
+
+    private static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SEARCH_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
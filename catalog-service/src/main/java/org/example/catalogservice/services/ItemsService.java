@@ -1,93 +1,423 @@
 package org.example.catalogservice.services;
 
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.caches.MenuCache;
+import org.example.catalogservice.caches.RequestCoalescer;
+import org.example.catalogservice.caches.ResponseBodyCache;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.example.catalogservice.datasources.RecentWrites;
 import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.ItemImportResult;
+import org.example.catalogservice.dto.ItemImportSummary;
 import org.example.catalogservice.dto.ItemRequest;
 import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.exceptions.InvalidBatchException;
 import org.example.catalogservice.exceptions.ItemAlreadyExistsException;
 import org.example.catalogservice.exceptions.ItemNotFoundException;
 import org.example.catalogservice.exceptions.RestaurantNotFoundException;
-import org.example.catalogservice.models.Item;
-import org.example.catalogservice.models.Restaurant;
+import org.example.catalogservice.indexes.ItemNameIndex;
+import org.example.catalogservice.indexes.RestaurantIdFilter;
 import org.example.catalogservice.repositories.ItemsRepository;
 import org.example.catalogservice.repositories.RestaurantsRepository;
+import org.example.catalogservice.utils.TransactionCallbacks;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.example.catalogservice.constants.Constants.IMPORT_BATCH_SIZE;
+import static org.example.catalogservice.constants.Constants.IMPORT_LOOKUP_CHUNK_SIZE;
+import static org.example.catalogservice.constants.Constants.ITEMS_IMPORTED;
 import static org.example.catalogservice.constants.Constants.ITEM_ADDED;
+import static org.example.catalogservice.constants.Constants.ITEM_ALREADY_EXISTS;
+import static org.example.catalogservice.constants.Constants.MAX_BATCH_MENUS;
+import static org.example.catalogservice.constants.Constants.MAX_IMPORT_ROWS;
+import static org.example.catalogservice.constants.Constants.RESTAURANT_IDS_REQUIRED;
+import static org.example.catalogservice.constants.Constants.TOO_MANY_RESTAURANT_IDS;
 
 @Service
 @RequiredArgsConstructor
 public class ItemsService {
+    private static final String INSERT_ITEM = "INSERT INTO food_items (id, name, description, price_paise, restaurant_id) VALUES (?, ?, ?, ?, ?)";
+    // Foreign key violations as PostgreSQL reports them, and as H2 does for a missing parent.
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+
     private final ItemsRepository itemsRepository;
     private final RestaurantsRepository restaurantsRepository;
+    private final MenuCache menuCache;
+    private final ResponseBodyCache responseBodyCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ItemNameIndex itemNameIndex;
+    private final RestaurantIdFilter restaurantIdFilter;
+    private final RecentWrites recentWrites;
+    private final CatalogChangesService catalogChangesService;
+    private final ItemImportReader itemImportReader;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
 
+    /**
+     * Adds the item with a single insert. The unique index on (restaurant_id, name) turns a
+     * duplicate into a no-op insert, and the foreign key rejects an unknown restaurant.
+     * Any other integrity violation is not about the restaurant and is left to propagate.
+     */
+    @Transactional
     public ResponseEntity<ApiResponse> add(String restaurantId, ItemRequest request) {
-        Restaurant restaurant = restaurantsRepository.findById(restaurantId)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found"));
+        ItemResponse item = new ItemResponse(UUID.randomUUID().toString(), request.getName(),
+                request.getDescription(), restaurantId, request.getPrice());
 
-        if (itemsRepository.existsByNameAndRestaurant(request.getName(), restaurant)) {
-            throw new ItemAlreadyExistsException("Item already exists in the given restaurant");
+        int inserted;
+        try {
+            inserted = itemsRepository.insertIfAbsent(item.getId(), item.getName(), item.getDescription(),
+                    item.getPrice().paise(), restaurantId);
+        } catch (DataIntegrityViolationException e) {
+            if (!isForeignKeyViolation(e)) {
+                throw e;
+            }
+            throw new RestaurantNotFoundException("Restaurant not found");
         }
 
-        Item item = Item.builder()
-                .name(request.getName())
-                .description(request.getDescription())
-                .price(request.getPrice())
-                .restaurant(restaurant)
-                .build();
+        if (inserted == 0) {
+            throw new ItemAlreadyExistsException("Item already exists in the given restaurant");
+        }
 
-        itemsRepository.save(item);
+        catalogChangesService.itemsAdded(restaurantId, List.of(item));
+        TransactionCallbacks.afterCommit(() -> itemsAdded(restaurantId, List.of(item)));
 
         ApiResponse response = ApiResponse.builder()
                 .message(ITEM_ADDED)
                 .status(HttpStatus.CREATED)
-                .data(Map.of("item", new ItemResponse(item)))
+                .data(Map.of("item", item))
+                .build();
+
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    // restaurant_id is the only foreign key on food_items, so a foreign key violation on an
+    // item insert means the restaurant does not exist.
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return FOREIGN_KEY_VIOLATIONS.contains(sqlException.getSQLState());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds every valid, new row of the import in JDBC batches. Names already on the menu
+     * are looked up with one set-based query per chunk, and each row gets its own result.
+     */
+    @Transactional
+    public ResponseEntity<ApiResponse> bulkAdd(String restaurantId, InputStream body, MediaType contentType) throws IOException {
+        long startedAt = System.nanoTime();
+
+        if (!restaurantsRepository.existsById(restaurantId)) {
+            throw new RestaurantNotFoundException("Restaurant not found");
+        }
+
+        List<ItemImportReader.Row> rows = itemImportReader.read(body, contentType, MAX_IMPORT_ROWS);
+        List<ItemImportResult> results = new ArrayList<>(rows.size());
+        Map<String, ItemImportReader.Row> candidates = new LinkedHashMap<>();
+
+        for (ItemImportReader.Row row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                results.add(invalid(row, error));
+            } else if (candidates.putIfAbsent(row.request().getName(), row) != null) {
+                results.add(duplicate(row));
+            }
+        }
+
+        Set<String> existingNames = findExistingNames(restaurantId, candidates.keySet());
+        List<ItemResponse> items = new ArrayList<>(candidates.size());
+
+        for (ItemImportReader.Row row : candidates.values()) {
+            if (existingNames.contains(row.request().getName())) {
+                results.add(duplicate(row));
+                continue;
+            }
+
+            ItemRequest request = row.request();
+            ItemResponse item = new ItemResponse(UUID.randomUUID().toString(), request.getName(),
+                    request.getDescription(), restaurantId, request.getPrice());
+            items.add(item);
+            results.add(ItemImportResult.builder()
+                    .row(row.number())
+                    .name(item.getName())
+                    .status(ItemImportResult.Status.CREATED)
+                    .id(item.getId())
+                    .build());
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_ITEM, items, IMPORT_BATCH_SIZE, (statement, item) -> {
+                statement.setString(1, item.getId());
+                statement.setString(2, item.getName());
+                statement.setString(3, item.getDescription());
+                statement.setLong(4, item.getPrice().paise());
+                statement.setString(5, item.getRestaurantId());
+            });
+        } catch (DuplicateKeyException e) {
+            // A concurrent writer added one of the names after the lookup above.
+            throw new ItemAlreadyExistsException("Item already exists in the given restaurant");
+        }
+
+        if (!items.isEmpty()) {
+            catalogChangesService.itemsAdded(restaurantId, items);
+            TransactionCallbacks.afterCommit(() -> itemsAdded(restaurantId, items));
+        }
+
+        results.sort(Comparator.comparingInt(ItemImportResult::getRow));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        ItemImportSummary summary = ItemImportSummary.builder()
+                .received(rows.size())
+                .created(items.size())
+                .duplicates(count(results, ItemImportResult.Status.DUPLICATE))
+                .invalid(count(results, ItemImportResult.Status.INVALID))
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(rows.size() * 1000.0 / Math.max(elapsedMillis, 1))
+                .build();
+
+        ApiResponse response = ApiResponse.builder()
+                .message(ITEMS_IMPORTED)
+                .status(HttpStatus.OK)
+                .data(Map.of("results", results, "summary", summary))
                 .build();
 
         return ResponseEntity.status(response.getStatus()).body(response);
     }
 
+    /**
+     * The menu, from the cache when present. On a miss, ids the restaurant filter
+     * rejects are answered without a query, and concurrent misses for a restaurant
+     * share a single load.
+     */
     public ResponseEntity<ApiResponse> fetchAll(String restaurantId) {
-        Restaurant restaurant = restaurantsRepository.findById(restaurantId)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found"));
+        List<ItemResponse> menu = menuCache.getIfPresent(restaurantId);
+        if (menu == null) {
+            if (restaurantIdFilter.rejects(restaurantId)) {
+                throw new RestaurantNotFoundException("Restaurant not found");
+            }
+            menu = requestCoalescer.execute(RequestCoalescer.Operation.MENU, restaurantId,
+                    () -> menuCache.load(restaurantId, this::loadMenu));
+        }
+        return menuResponse(menu);
+    }
 
-        List<Item> items = itemsRepository.findAllByRestaurant(restaurant);
-        List<ItemResponse> responses = new ArrayList<>();
+    /**
+     * The menu if it is already cached, without touching the database, so that callers on
+     * a non-blocking path can answer a hit in place and only offload a miss.
+     */
+    public Optional<ResponseEntity<ApiResponse>> fetchAllIfCached(String restaurantId) {
+        return Optional.ofNullable(menuCache.getIfPresent(restaurantId)).map(ItemsService::menuResponse);
+    }
 
-        for (Item item : items) {
-            responses.add(new ItemResponse(item));
+    public ResponseEntity<ApiResponse> fetchByName(String restaurantId, String itemName) {
+        if (restaurantIdFilter.rejects(restaurantId)) {
+            throw new RestaurantNotFoundException("Restaurant not found");
         }
 
+        ItemResponse item = requestCoalescer.execute(RequestCoalescer.Operation.ITEM, List.of(restaurantId, itemName),
+                () -> readMenuOf(restaurantId, () -> itemsRepository.findByNameAndRestaurantId(itemName, restaurantId)
+                        .orElseThrow(() -> notFound(restaurantId))));
+
         ApiResponse response = ApiResponse.builder()
                 .message(FETCHED)
                 .status(HttpStatus.OK)
-                .data(Map.of("items", responses))
+                .data(Map.of("items", item))
                 .build();
 
         return ResponseEntity.status(response.getStatus()).body(response);
     }
 
-    public ResponseEntity<ApiResponse> fetchByName(String restaurantId, String itemName) {
-        Restaurant restaurant = restaurantsRepository.findById(restaurantId)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found"));
+    /**
+     * The menus of several restaurants in one response, in the order asked for. Menus
+     * that are not cached are read with one query over all their restaurants and grouped
+     * in memory; ids that match no restaurant are listed under "missing" instead of
+     * failing the request.
+     */
+    public ResponseEntity<ApiResponse> fetchMenus(List<String> restaurantIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (String restaurantId : restaurantIds) {
+            if (restaurantId != null && !restaurantId.isBlank()) {
+                ids.add(restaurantId.trim());
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new InvalidBatchException(RESTAURANT_IDS_REQUIRED);
+        }
+        if (ids.size() > MAX_BATCH_MENUS) {
+            throw new InvalidBatchException(TOO_MANY_RESTAURANT_IDS);
+        }
+
+        Map<String, List<ItemResponse>> found = menuCache.getAll(ids, this::loadMenus);
+        Map<String, List<ItemResponse>> menus = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            List<ItemResponse> menu = found.get(id);
+            if (menu == null) {
+                missing.add(id);
+            } else {
+                menus.put(id, menu);
+            }
+        }
+
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("menus", menus, "missing", missing))
+                .build();
 
-        Item item = itemsRepository.findByNameAndRestaurant(itemName, restaurant)
-                .orElseThrow(() -> new ItemNotFoundException("Item not found"));
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
 
+    private static ResponseEntity<ApiResponse> menuResponse(List<ItemResponse> items) {
         ApiResponse response = ApiResponse.builder()
                 .message(FETCHED)
                 .status(HttpStatus.OK)
-                .data(Map.of("items", new ItemResponse(item)))
+                .data(Map.of("items", items))
                 .build();
 
         return ResponseEntity.status(response.getStatus()).body(response);
     }
+
+    // The restaurant is only looked up when the menu is empty, to tell an empty menu
+    // from an unknown restaurant, so a non-empty menu costs a single query.
+    private List<ItemResponse> loadMenu(String restaurantId) {
+        return readMenuOf(restaurantId, () -> {
+            List<ItemResponse> items = itemsRepository.findAllByRestaurantId(restaurantId);
+
+            if (items.isEmpty() && !restaurantsRepository.existsById(restaurantId)) {
+                throw new RestaurantNotFoundException("Restaurant not found");
+            }
+
+            return items;
+        });
+    }
+
+    // Restaurants are only looked up for the ids that have no items, so that an empty
+    // menu can be told from an unknown restaurant.
+    private Map<String, List<ItemResponse>> loadMenus(Set<String> restaurantIds) {
+        if (recentWrites.anyRecent(restaurantIds)) {
+            return DataSourceRouting.onPrimary(() -> queryMenus(restaurantIds));
+        }
+        return queryMenus(restaurantIds);
+    }
+
+    private Map<String, List<ItemResponse>> queryMenus(Set<String> restaurantIds) {
+        Map<String, List<ItemResponse>> menus = new HashMap<>();
+        for (ItemResponse item : itemsRepository.findAllByRestaurantIdIn(restaurantIds)) {
+            menus.computeIfAbsent(item.getRestaurantId(), id -> new ArrayList<>()).add(item);
+        }
+
+        List<String> withoutItems = restaurantIds.stream().filter(id -> !menus.containsKey(id)).toList();
+        if (!withoutItems.isEmpty()) {
+            for (String id : restaurantsRepository.findIdsByIdIn(withoutItems)) {
+                menus.put(id, List.of());
+            }
+        }
+        return menus;
+    }
+
+    // A menu written within the read-your-writes window is read from the primary, as a
+    // replica may not have the write yet and the result is shared through the caches.
+    private <T> T readMenuOf(String restaurantId, Supplier<T> query) {
+        return recentWrites.isRecent(restaurantId) ? DataSourceRouting.onPrimary(query) : query.get();
+    }
+
+    private RuntimeException notFound(String restaurantId) {
+        if (!restaurantsRepository.existsById(restaurantId)) {
+            return new RestaurantNotFoundException("Restaurant not found");
+        }
+        return new ItemNotFoundException("Item not found");
+    }
+
+    // The foreign key has just proven the restaurant exists, even if it was created on
+    // another instance and the change feed has not brought it here yet.
+    private void itemsAdded(String restaurantId, List<ItemResponse> items) {
+        restaurantIdFilter.add(restaurantId);
+        recentWrites.record(restaurantId);
+        menuCache.invalidate(restaurantId);
+        responseBodyCache.invalidate(restaurantId);
+        for (ItemResponse item : items) {
+            itemNameIndex.add(restaurantId, item.getName());
+        }
+    }
+
+    private String validate(ItemRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "Name is required";
+        }
+
+        Set<ConstraintViolation<ItemRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    private Set<String> findExistingNames(String restaurantId, Set<String> names) {
+        Set<String> existingNames = new HashSet<>();
+        List<String> chunk = new ArrayList<>(IMPORT_LOOKUP_CHUNK_SIZE);
+
+        for (String name : names) {
+            chunk.add(name);
+            if (chunk.size() == IMPORT_LOOKUP_CHUNK_SIZE) {
+                existingNames.addAll(itemsRepository.findNamesByRestaurantIdAndNameIn(restaurantId, chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            existingNames.addAll(itemsRepository.findNamesByRestaurantIdAndNameIn(restaurantId, chunk));
+        }
+        return existingNames;
+    }
+
+    private static ItemImportResult invalid(ItemImportReader.Row row, String error) {
+        return ItemImportResult.builder()
+                .row(row.number())
+                .name(row.request() == null ? null : row.request().getName())
+                .status(ItemImportResult.Status.INVALID)
+                .error(error)
+                .build();
+    }
+
+    private static ItemImportResult duplicate(ItemImportReader.Row row) {
+        return ItemImportResult.builder()
+                .row(row.number())
+                .name(row.request().getName())
+                .status(ItemImportResult.Status.DUPLICATE)
+                .error(ITEM_ALREADY_EXISTS)
+                .build();
+    }
+
+    private static int count(List<ItemImportResult> results, ItemImportResult.Status status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package org.example.catalogservice.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.caches.ResponseBodyCache;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.repositories.RestaurantReadRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.example.catalogservice.constants.Constants.DEFAULT_STREAM_SIZE;
+import static org.example.catalogservice.constants.Constants.MAX_STREAM_SIZE;
+import static org.example.catalogservice.constants.Constants.STREAM_PAGE_SIZE;
+
+/**
+ * Non-blocking variant of the catalog read API. JPA stays blocking, so every database
+ * call runs on a bounded elastic scheduler and request threads are never held while
+ * it waits; responses and menus already in the caches are answered in place. A request
+ * pinned to the primary, such as one inside its client's read-your-writes window, has
+ * its pin carried over to the scheduler threads that read for it.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCatalogService {
+    private final RestaurantReadRepository restaurantReadRepository;
+    private final RestaurantsService restaurantsService;
+    private final ItemsService itemsService;
+    private final ResponseBodyCache responseBodyCache;
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    /**
+     * Up to {@code size} restaurants after {@code afterId}, or from the start of the table
+     * when it is null, read in keyset pages of {@code STREAM_PAGE_SIZE} as the subscriber
+     * asks for more, so that a slow client holds back the reads instead of buffering them.
+     * A stream is capped at {@code MAX_STREAM_SIZE} rows so that it ends within the async
+     * request timeout; clients read on from the id of the last restaurant they received.
+     */
+    public Flux<RestaurantResponse> fetchAll(String afterId, Integer size) {
+        int limit = streamSize(size);
+        boolean pinned = DataSourceRouting.isPinnedToPrimary();
+        // generate only reads a page when one is requested.
+        return Flux.<List<RestaurantResponse>, Position>generate(() -> new Position(afterId, limit), (position, sink) -> {
+                    int pageSize = Math.min(STREAM_PAGE_SIZE, position.remaining());
+                    List<RestaurantResponse> page = read(pinned, () -> page(position.afterId(), pageSize));
+                    if (!page.isEmpty()) {
+                        sink.next(page);
+                    }
+                    if (page.size() < pageSize || page.size() == position.remaining()) {
+                        sink.complete();
+                        return position;
+                    }
+                    return new Position(page.get(page.size() - 1).getId(), position.remaining() - page.size());
+                })
+                .subscribeOn(scheduler)
+                .concatMapIterable(Function.identity(), 1);
+    }
+
+    public Mono<ResponseEntity<ApiResponse>> fetchById(String id) {
+        return offload(() -> restaurantsService.fetchById(id));
+    }
+
+    /**
+     * The menu through the same response cache as the MVC endpoint. A cached body, or a
+     * menu that only needs serializing, is served in place; only a menu that has to be
+     * read from the database is offloaded.
+     */
+    public Mono<ResponseEntity<?>> fetchMenu(String restaurantId, HttpHeaders headers) {
+        Mono<ResponseEntity<?>> load = offload(() -> responseBodyCache.serve(restaurantId,
+                ResponseBodyCache.MENU, headers, () -> itemsService.fetchAll(restaurantId)));
+        return Mono.defer(() -> {
+            Optional<ResponseEntity<?>> cached = responseBodyCache.serveIfCached(restaurantId, ResponseBodyCache.MENU, headers);
+            if (cached.isPresent()) {
+                return Mono.just(cached.get());
+            }
+
+            Optional<ResponseEntity<ApiResponse>> menu = itemsService.fetchAllIfCached(restaurantId);
+            if (menu.isPresent()) {
+                return Mono.just(responseBodyCache.serve(restaurantId, ResponseBodyCache.MENU, headers, menu::get));
+            }
+            return load;
+        });
+    }
+
+    // Takes the pin of the assembling thread, which is the request thread, rather than of
+    // the scheduler thread the read runs on.
+    private <T> Mono<T> offload(Supplier<T> query) {
+        boolean pinned = DataSourceRouting.isPinnedToPrimary();
+        return Mono.fromCallable(() -> read(pinned, query)).subscribeOn(scheduler);
+    }
+
+    private static <T> T read(boolean pinned, Supplier<T> query) {
+        return pinned ? DataSourceRouting.onPrimary(query) : query.get();
+    }
+
+    private List<RestaurantResponse> page(String afterId, int pageSize) {
+        return restaurantReadRepository.findPage(afterId, pageSize);
+    }
+
+    private static int streamSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_STREAM_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_STREAM_SIZE));
+    }
+
+    // Where a stream has got to: the id of the last restaurant emitted and how many more it may emit.
+    private record Position(String afterId, int remaining) {}
+}
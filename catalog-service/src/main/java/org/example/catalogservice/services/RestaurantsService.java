@@ -1,44 +1,102 @@
 package org.example.catalogservice.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 
+import org.example.catalogservice.caches.RequestCoalescer;
+import org.example.catalogservice.caches.ResponseBodyCache;
+import org.example.catalogservice.dto.Address;
 import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.NearbyRestaurant;
 import org.example.catalogservice.dto.RestaurantRequest;
 import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.exceptions.InvalidLocationException;
 import org.example.catalogservice.exceptions.RestaurantAlreadyExistsException;
 import org.example.catalogservice.exceptions.RestaurantNotFoundException;
+import org.example.catalogservice.indexes.RestaurantGeoIndex;
+import org.example.catalogservice.indexes.RestaurantIdFilter;
 import org.example.catalogservice.models.Restaurant;
+import org.example.catalogservice.repositories.RestaurantReadRepository;
 import org.example.catalogservice.repositories.RestaurantsRepository;
+import org.example.catalogservice.utils.Cursors;
+import org.example.catalogservice.utils.TransactionCallbacks;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.example.catalogservice.constants.Constants.DEFAULT_NEARBY_RADIUS_KM;
+import static org.example.catalogservice.constants.Constants.DEFAULT_NEARBY_SIZE;
+import static org.example.catalogservice.constants.Constants.DEFAULT_PAGE_SIZE;
+import static org.example.catalogservice.constants.Constants.EXPORT_FETCH_SIZE;
 import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.example.catalogservice.constants.Constants.INVALID_COORDINATES;
+import static org.example.catalogservice.constants.Constants.INVALID_RADIUS;
+import static org.example.catalogservice.constants.Constants.MAX_NEARBY_RADIUS_KM;
+import static org.example.catalogservice.constants.Constants.MAX_NEARBY_SIZE;
+import static org.example.catalogservice.constants.Constants.MAX_PAGE_SIZE;
 import static org.example.catalogservice.constants.Constants.RESTAURANT_CREATED;
 
 
 @Service
 @RequiredArgsConstructor
 public class RestaurantsService {
-    private final RestaurantsRepository restaurantsRepository;
+    private static final String EXPORT_QUERY = "SELECT id, name, building_number, street, locality, city, state, country, zipcode, "
+            + "latitude, longitude FROM restaurants ORDER BY id";
 
+    private final RestaurantsRepository restaurantsRepository;
+    private final RestaurantReadRepository restaurantReadRepository;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+    private final RestaurantIdFilter restaurantIdFilter;
+    private final RequestCoalescer requestCoalescer;
+    private final ResponseBodyCache responseBodyCache;
+    private final CatalogChangesService catalogChangesService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the restaurant with a single insert; the unique index on name and address
+     * turns a duplicate into a no-op insert.
+     */
+    @Transactional
     public ResponseEntity<ApiResponse> create(RestaurantRequest request) {
-        if (restaurantsRepository.existsByNameAndAddress(request.getName(), request.getAddress())) {
-            throw new RestaurantAlreadyExistsException("Restaurant already exists");
-        }
-
         Restaurant restaurant = Restaurant.builder()
+                .id(UUID.randomUUID().toString())
                 .name(request.getName())
                 .address(request.getAddress())
                 .build();
 
-        restaurant = restaurantsRepository.save(restaurant);
+        if (restaurantsRepository.insertIfAbsent(restaurant.getId(), restaurant.getName(), restaurant.getAddress()) == 0) {
+            throw new RestaurantAlreadyExistsException("Restaurant already exists");
+        }
 
         RestaurantResponse restaurantResponse = new RestaurantResponse(restaurant);
+        catalogChangesService.restaurantCreated(restaurantResponse);
+
+        TransactionCallbacks.afterCommit(() -> restaurantIdFilter.add(restaurant.getId()));
+        TransactionCallbacks.afterCommit(responseBodyCache::invalidateListings);
+        Address address = restaurant.getAddress();
+        if (address != null && address.getLatitude() != null && address.getLongitude() != null) {
+            TransactionCallbacks.afterCommit(() -> restaurantGeoIndex.add(restaurant.getId(),
+                    address.getLatitude(), address.getLongitude()));
+        }
 
         ApiResponse response = ApiResponse.builder()
                 .message(RESTAURANT_CREATED)
@@ -49,33 +107,134 @@ public class RestaurantsService {
         return ResponseEntity.status(response.getStatus()).body(response);
     }
 
-    public ResponseEntity<ApiResponse> fetchAll() {
-        List<Restaurant> restaurants = restaurantsRepository.findAll();
-        List<RestaurantResponse> responses = new ArrayList<>();
+    public ResponseEntity<ApiResponse> fetchAll(String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<RestaurantResponse> restaurants = restaurantReadRepository.findPage(
+                cursor == null ? null : Cursors.decode(cursor), pageSize + 1);
+
+        boolean hasMore = restaurants.size() > pageSize;
+        List<RestaurantResponse> responses = hasMore ? restaurants.subList(0, pageSize) : restaurants;
 
-        for (Restaurant restaurant: restaurants) {
-            responses.add(new RestaurantResponse(restaurant));
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("restaurants", responses);
+        if (hasMore) {
+            data.put("nextCursor", Cursors.encode(responses.get(responses.size() - 1).getId()));
         }
 
         ApiResponse response = ApiResponse.builder()
                 .message(FETCHED)
                 .status(HttpStatus.OK)
-                .data(Map.of("restaurants", responses))
+                .data(data)
                 .build();
 
         return ResponseEntity.status(response.getStatus()).body(response);
     }
 
+    /**
+     * The restaurants nearest to the point within the radius, nearest first. Candidates
+     * come from the in-memory {@link RestaurantGeoIndex}, and only the matches are read
+     * from the database, by primary key.
+     */
+    public ResponseEntity<ApiResponse> nearby(double latitude, double longitude, Double radiusKm, Integer size) {
+        // NaN fails every comparison, so it is ruled out before the range check.
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)
+                || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new InvalidLocationException(INVALID_COORDINATES);
+        }
+        if (radiusKm != null && !(radiusKm > 0)) {
+            throw new InvalidLocationException(INVALID_RADIUS);
+        }
+
+        double radius = radiusKm == null ? DEFAULT_NEARBY_RADIUS_KM : Math.min(radiusKm, MAX_NEARBY_RADIUS_KM);
+        int limit = size == null ? DEFAULT_NEARBY_SIZE : Math.max(1, Math.min(size, MAX_NEARBY_SIZE));
+        List<RestaurantGeoIndex.Nearby> nearest = restaurantGeoIndex.nearest(latitude, longitude, radius, limit);
+
+        List<NearbyRestaurant> restaurants = new ArrayList<>(nearest.size());
+        if (!nearest.isEmpty()) {
+            Map<String, RestaurantResponse> byId = restaurantReadRepository
+                    .findAllById(nearest.stream().map(RestaurantGeoIndex.Nearby::id).toList())
+                    .stream()
+                    .collect(Collectors.toMap(RestaurantResponse::getId, Function.identity()));
+
+            for (RestaurantGeoIndex.Nearby candidate : nearest) {
+                RestaurantResponse restaurant = byId.get(candidate.id());
+                if (restaurant != null) {
+                    restaurants.add(NearbyRestaurant.builder()
+                            .restaurant(restaurant)
+                            .distanceKm(candidate.distanceKm())
+                            .build());
+                }
+            }
+        }
+
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("restaurants", restaurants))
+                .build();
+
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    /**
+     * Writes every restaurant as one JSON document per line, reading rows through a
+     * forward-only JDBC cursor so that memory use does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(RestaurantResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                return statement;
+            }, resultSet -> {
+                try {
+                    writer.writeValue(generator, RestaurantReadRepository.ROW_MAPPER.mapRow(resultSet, 0));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     public ResponseEntity<ApiResponse> fetchById(String id) {
-        Restaurant restaurant = restaurantsRepository.findById(id)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found"));
+        if (restaurantIdFilter.rejects(id)) {
+            throw new RestaurantNotFoundException("Restaurant not found");
+        }
+
+        RestaurantResponse restaurant = requestCoalescer.execute(RequestCoalescer.Operation.RESTAURANT, id,
+                () -> restaurantReadRepository.findById(id)
+                        .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found")));
 
         ApiResponse response = ApiResponse.builder()
                 .message(FETCHED)
                 .status(HttpStatus.OK)
-                .data(Map.of("restaurant", new RestaurantResponse(restaurant)))
+                .data(Map.of("restaurant", restaurant))
                 .build();
 
         return ResponseEntity.status(response.getStatus()).body(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * The number of restaurants a listing page holds for the requested size: the default
+     * when none is given, otherwise the size clamped to between one and the maximum.
+     */
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
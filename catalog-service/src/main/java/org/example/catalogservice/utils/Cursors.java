@@ -0,0 +1,30 @@
+package org.example.catalogservice.utils;
+
+import org.example.catalogservice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors. A cursor wraps the id of the last row of a page so that
+ * clients cannot depend on its shape.
+ */
+public final class Cursors {
+    private Cursors() {}
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (id.isBlank()) {
+                throw new InvalidCursorException("Cursor is empty");
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+    }
+}
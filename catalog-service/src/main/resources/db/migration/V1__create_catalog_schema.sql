@@ -0,0 +1,21 @@
+-- Tables as previously created by Hibernate's ddl-auto, so that existing databases
+-- are adopted as they are and new ones start from the same shape.
+CREATE TABLE IF NOT EXISTS restaurants (
+    id              VARCHAR(255) PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    building_number INTEGER,
+    street          VARCHAR(255),
+    locality        VARCHAR(255),
+    city            VARCHAR(255),
+    state           VARCHAR(255),
+    country         VARCHAR(255),
+    zipcode         VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS food_items (
+    id            VARCHAR(255) PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    price         DOUBLE PRECISION NOT NULL,
+    restaurant_id VARCHAR(255) NOT NULL REFERENCES restaurants (id)
+);
@@ -0,0 +1,8 @@
+-- Duplicate checks are enforced here instead of by a query before every insert.
+-- Existing duplicates must be merged by hand before this migration can run.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_food_items_restaurant_id_name
+    ON food_items (restaurant_id, name);
+
+-- zipcode is optional, and NULLs never collide in a unique index.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_restaurants_name_address
+    ON restaurants (name, building_number, street, locality, city, state, country, COALESCE(zipcode, ''));
@@ -0,0 +1,16 @@
+-- Catalog-wide item search (ItemSearchRepository). The expressions below must stay
+-- identical to the ones in its query for the planner to use these indexes.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Ranked full-text and prefix matches over name and description. The 'simple'
+-- configuration keeps dish names such as "biryani" or "idli" unstemmed.
+CREATE INDEX IF NOT EXISTS ix_food_items_search
+    ON food_items USING GIN (to_tsvector('simple', name || ' ' || coalesce(description, '')));
+
+-- Fuzzy matches on misspelled names ("biriyani") through the % similarity operator.
+CREATE INDEX IF NOT EXISTS ix_food_items_name_trgm
+    ON food_items USING GIN (name gin_trgm_ops);
+
+-- City and locality filters on the joined restaurant.
+CREATE INDEX IF NOT EXISTS ix_restaurants_lower_city_locality
+    ON restaurants (lower(city), lower(locality));
@@ -0,0 +1,5 @@
+-- Restaurant coordinates for the nearby-restaurants query. Nearest-neighbour lookups
+-- are answered by the in-memory RestaurantGeoIndex, which loads these columns at
+-- startup, so no spatial index is needed here.
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
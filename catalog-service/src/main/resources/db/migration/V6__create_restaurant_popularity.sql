@@ -0,0 +1,9 @@
+-- Approximate menu read counts per restaurant, flushed periodically by MenuPopularity.
+-- MenuCacheWarmer reads the most popular restaurants from here on startup.
+CREATE TABLE IF NOT EXISTS restaurant_popularity (
+    restaurant_id VARCHAR(255) PRIMARY KEY,
+    menu_reads    BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_restaurant_popularity_menu_reads
+    ON restaurant_popularity (menu_reads DESC);
@@ -0,0 +1,19 @@
+-- Transactional outbox of catalog writes, read by downstream consumers through
+-- GET /changes. Rows are appended in the same transaction as the write they record.
+CREATE TABLE IF NOT EXISTS catalog_changes (
+    sequence      BIGINT PRIMARY KEY,
+    type          VARCHAR(32) NOT NULL,
+    restaurant_id VARCHAR(255) NOT NULL,
+    entity_id     VARCHAR(255) NOT NULL,
+    payload       TEXT NOT NULL,
+    changed_at    TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Single-row counter that hands out change sequence numbers. Writers hold its row lock
+-- until they commit, so sequence numbers become visible in increasing order.
+CREATE TABLE IF NOT EXISTS catalog_change_sequence (
+    id            INTEGER PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+INSERT INTO catalog_change_sequence (id, last_sequence) VALUES (1, 0) ON CONFLICT DO NOTHING;
@@ -0,0 +1,55 @@
+-- Item prices move from floating-point rupees to whole paise, so that amounts add up
+-- exactly. This is the expand step: price_paise is added next to price, without a
+-- table rewrite, and the two are kept in step while instances reading either column
+-- run side by side. The contract step ships once no instance reads price any more:
+--
+--   ALTER TABLE food_items ALTER COLUMN price_paise SET NOT NULL;
+--   DROP TRIGGER food_items_sync_price ON food_items;
+--   DROP FUNCTION food_items_sync_price();
+--   ALTER TABLE food_items DROP COLUMN price;
+--
+-- Runs outside a transaction (see the .conf file next to it), so that each backfill
+-- batch commits on its own instead of locking every row until the end.
+ALTER TABLE food_items ADD COLUMN IF NOT EXISTS price_paise BIGINT;
+
+-- Writers that set only one of the columns get the other filled in: old instances
+-- write price, new ones price_paise.
+CREATE OR REPLACE FUNCTION food_items_sync_price() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.price_paise IS NULL THEN
+            NEW.price_paise := round(NEW.price * 100)::BIGINT;
+        ELSIF NEW.price IS NULL THEN
+            NEW.price := NEW.price_paise / 100.0;
+        END IF;
+    ELSIF NEW.price IS DISTINCT FROM OLD.price THEN
+        NEW.price_paise := round(NEW.price * 100)::BIGINT;
+    -- The backfill sets price_paise for the first time and leaves price as it was.
+    ELSIF NEW.price_paise IS DISTINCT FROM OLD.price_paise AND OLD.price_paise IS NOT NULL THEN
+        NEW.price := NEW.price_paise / 100.0;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS food_items_sync_price ON food_items;
+CREATE TRIGGER food_items_sync_price BEFORE INSERT OR UPDATE ON food_items
+    FOR EACH ROW EXECUTE FUNCTION food_items_sync_price();
+
+-- Backfill in id order, 10000 rows per transaction.
+DO $$
+DECLARE
+    last_id    VARCHAR(255) := '';
+    batch_last VARCHAR(255);
+BEGIN
+    LOOP
+        SELECT max(id) INTO batch_last
+        FROM (SELECT id FROM food_items WHERE id > last_id ORDER BY id LIMIT 10000) AS batch;
+        EXIT WHEN batch_last IS NULL;
+
+        UPDATE food_items SET price_paise = round(price * 100)::BIGINT
+        WHERE id > last_id AND id <= batch_last AND price_paise IS NULL;
+        last_id := batch_last;
+        COMMIT;
+    END LOOP;
+END $$;
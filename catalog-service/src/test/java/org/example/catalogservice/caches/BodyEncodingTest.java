@@ -0,0 +1,40 @@
+package org.example.catalogservice.caches;
+
+import com.github.luben.zstd.Zstd;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BodyEncodingTest {
+    private static final Set<BodyEncoding> BOTH = EnumSet.allOf(BodyEncoding.class);
+
+    @Test
+    void testEncodingFollowsTheAcceptEncodingHeader() {
+        assertThat(BodyEncoding.negotiate("gzip, deflate, br, zstd", BOTH)).isEqualTo(BodyEncoding.ZSTD);
+        assertThat(BodyEncoding.negotiate("gzip, deflate", BOTH)).isEqualTo(BodyEncoding.GZIP);
+        assertThat(BodyEncoding.negotiate("zstd;q=0.5, GZIP", BOTH)).isEqualTo(BodyEncoding.GZIP);
+        assertThat(BodyEncoding.negotiate("*", BOTH)).isEqualTo(BodyEncoding.ZSTD);
+        assertThat(BodyEncoding.negotiate("zstd;q=0, *", BOTH)).isEqualTo(BodyEncoding.GZIP);
+        assertThat(BodyEncoding.negotiate("zstd", EnumSet.of(BodyEncoding.GZIP))).isNull();
+        assertThat(BodyEncoding.negotiate("gzip;q=0.5, identity", BOTH)).isNull();
+        assertThat(BodyEncoding.negotiate("gzip;q=oops", BOTH)).isNull();
+        assertThat(BodyEncoding.negotiate("gzip", EnumSet.noneOf(BodyEncoding.class))).isNull();
+        assertThat(BodyEncoding.negotiate(null, BOTH)).isNull();
+    }
+
+    @Test
+    void testZstdRoundTrips() {
+        assumeTrue(BodyEncoding.ZSTD.isAvailable());
+        byte[] body = "{\"items\":[]}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = BodyEncoding.ZSTD.encode(body);
+
+        assertThat(encoded).hasSizeLessThan(body.length);
+        assertThat(Zstd.decompress(encoded, body.length)).isEqualTo(body);
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.catalogservice.caches;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.datasources.RecentWrites;
+import org.example.catalogservice.indexes.IndexLoader;
+import org.example.catalogservice.indexes.ItemNameIndex;
+import org.example.catalogservice.indexes.RestaurantGeoIndex;
+import org.example.catalogservice.indexes.RestaurantIdFilter;
+import org.example.catalogservice.models.CatalogChange;
+import org.example.catalogservice.repositories.CatalogChangesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogChangeFollowerTest {
+    @Mock
+    private CatalogChangesRepository catalogChangesRepository;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Mock
+    private IndexLoader indexLoader;
+
+    private MenuCache menuCache;
+    private ItemNameIndex itemNameIndex;
+    private RestaurantGeoIndex restaurantGeoIndex;
+    private RestaurantIdFilter restaurantIdFilter;
+    private RecentWrites recentWrites;
+    private CatalogChangeFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        menuCache = spy(new MenuCache(100, Duration.ofMinutes(10)));
+        itemNameIndex = new ItemNameIndex();
+        restaurantGeoIndex = new RestaurantGeoIndex();
+        restaurantIdFilter = new RestaurantIdFilter(1000, 0.01);
+        restaurantIdFilter.markLoaded();
+        recentWrites = new RecentWrites(Duration.ofSeconds(5));
+        follower = new CatalogChangeFollower(catalogChangesRepository, menuCache, responseBodyCache, itemNameIndex,
+                restaurantGeoIndex, restaurantIdFilter, recentWrites, List.of(indexLoader), new ObjectMapper());
+    }
+
+    private static CatalogChange change(long sequence, CatalogChange.Type type, String entityId, String payload) {
+        return CatalogChange.builder()
+                .sequence(sequence)
+                .type(type)
+                .restaurantId("restaurant")
+                .entityId(entityId)
+                .payload(payload)
+                .changedAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    void testChangesAfterStartAreAppliedToCachesAndIndexes() {
+        when(catalogChangesRepository.findLastSequence()).thenReturn(7L);
+        when(catalogChangesRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(7L), any(Limit.class))).thenReturn(List.of(
+                change(8, CatalogChange.Type.RESTAURANT_CREATED, "restaurant",
+                        "{\"id\":\"restaurant\",\"name\":\"r\",\"address\":{\"latitude\":13.08,\"longitude\":80.27}}"),
+                change(9, CatalogChange.Type.ITEM_ADDED, "item",
+                        "{\"id\":\"item\",\"name\":\"Biryani\",\"restaurantId\":\"restaurant\",\"price\":200.0}")));
+
+        follower.start();
+        follower.follow();
+
+        assertThat(follower.lastSequence()).isEqualTo(9);
+        verify(menuCache).invalidate("restaurant");
+        verify(responseBodyCache).invalidate("restaurant");
+        verify(responseBodyCache).invalidateListings();
+        assertThat(itemNameIndex.complete("restaurant", "bir", 10)).containsExactly("Biryani");
+        assertThat(restaurantGeoIndex.nearest(13.08, 80.27, 1, 10)).hasSize(1);
+        assertThat(restaurantIdFilter.mightContain("restaurant")).isTrue();
+        assertThat(restaurantIdFilter.mightContain("unknown")).isFalse();
+        assertThat(recentWrites.isRecent("restaurant")).isTrue();
+    }
+
+    @Test
+    void testUnreadablePayloadIsSkipped() {
+        when(catalogChangesRepository.findLastSequence()).thenReturn(0L);
+        when(catalogChangesRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(change(1, CatalogChange.Type.ITEM_ADDED, "item", "not json")));
+
+        follower.start();
+        follower.follow();
+
+        assertThat(follower.lastSequence()).isEqualTo(1);
+        assertThat(itemNameIndex.size()).isZero();
+    }
+
+    @Test
+    void testNothingIsFollowedWhenTheStartingPointIsUnknown() {
+        when(catalogChangesRepository.findLastSequence()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        follower.start();
+        follower.follow();
+
+        verify(catalogChangesRepository, never()).findBySequenceGreaterThanOrderBySequenceAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void testFailedStartIsRetriedWithCachesClearedAndIndexesReloaded() {
+        when(catalogChangesRepository.findLastSequence())
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenThrow(new DataAccessResourceFailureException("still down"))
+                .thenReturn(7L);
+        when(catalogChangesRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(7L), any(Limit.class)))
+                .thenReturn(List.of());
+
+        follower.start();
+        follower.follow();
+
+        assertThat(follower.lastSequence()).isEqualTo(-1);
+        assertThat(restaurantIdFilter.mightContain("unknown")).isTrue();
+        verify(indexLoader, never()).load();
+
+        follower.follow();
+
+        assertThat(follower.lastSequence()).isEqualTo(7);
+        verify(menuCache).invalidateAll();
+        verify(responseBodyCache).invalidateAll();
+        verify(indexLoader).load();
+        verify(catalogChangesRepository).findBySequenceGreaterThanOrderBySequenceAsc(eq(7L), any(Limit.class));
+        assertThat(restaurantIdFilter.mightContain("unknown")).isFalse();
+    }
+
+    @Test
+    void testNothingIsRetriedBeforeTheStart() {
+        follower.follow();
+
+        verify(catalogChangesRepository, never()).findLastSequence();
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.catalogservice.caches;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.dto.ItemResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuCacheTest {
+    private MenuCache menuCache;
+
+    @BeforeEach
+    void setUp() {
+        menuCache = new MenuCache(100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testMenuIsLoadedOncePerRestaurant() {
+        AtomicInteger loads = new AtomicInteger();
+        List<ItemResponse> menu = List.of(ItemResponse.builder().id("item-id").build());
+
+        menuCache.get("restaurant-id", id -> {
+            loads.incrementAndGet();
+            return menu;
+        });
+        List<ItemResponse> cached = menuCache.get("restaurant-id", id -> {
+            loads.incrementAndGet();
+            return menu;
+        });
+
+        assertThat(cached).isEqualTo(menu);
+        assertThat(loads).hasValue(1);
+        assertThat(menuCache.stats().hitCount()).isEqualTo(1);
+        assertThat(menuCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidatedMenuIsLoadedAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        menuCache.get("restaurant-id", id -> List.of(ItemResponse.builder().id("v" + loads.incrementAndGet()).build()));
+        menuCache.invalidate("restaurant-id");
+        List<ItemResponse> cached = menuCache.get("restaurant-id",
+                id -> List.of(ItemResponse.builder().id("v" + loads.incrementAndGet()).build()));
+
+        assertThat(cached.get(0).getId()).isEqualTo("v2");
+    }
+
+    @Test
+    void testAbsentMenusAreLoadedTogether() {
+        AtomicInteger loads = new AtomicInteger();
+        menuCache.get("cached", id -> List.of());
+
+        Map<String, List<ItemResponse>> menus = menuCache.getAll(List.of("cached", "first", "second", "unknown"), ids -> {
+            loads.incrementAndGet();
+            assertThat(ids).containsExactly("first", "second", "unknown");
+            return Map.of("first", List.of(ItemResponse.builder().id("item-id").build()), "second", List.of());
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(menus).containsOnlyKeys("cached", "first", "second");
+        assertThat(menuCache.getIfPresent("first")).hasSize(1);
+        assertThat(menuCache.getIfPresent("unknown")).isNull();
+    }
+
+    @Test
+    void testMenusLoadedAcrossAnInvalidationAreNotCached() {
+        Map<String, List<ItemResponse>> menus = menuCache.getAll(List.of("restaurant-id"), ids -> {
+            menuCache.invalidate("restaurant-id");
+            return Map.of("restaurant-id", List.of(ItemResponse.builder().id("stale").build()));
+        });
+
+        assertThat(menus.get("restaurant-id")).hasSize(1);
+        assertThat(menuCache.getIfPresent("restaurant-id")).isNull();
+    }
+
+    @Test
+    void testLoadedMenuIsCachedUnlessInvalidatedMeanwhile() {
+        menuCache.load("first", id -> List.of(ItemResponse.builder().id("item-id").build()));
+        List<ItemResponse> stale = menuCache.load("second", id -> {
+            menuCache.invalidate("second");
+            return List.of(ItemResponse.builder().id("stale").build());
+        });
+
+        assertThat(stale).hasSize(1);
+        assertThat(menuCache.getIfPresent("first")).hasSize(1);
+        assertThat(menuCache.getIfPresent("second")).isNull();
+        assertThat(menuCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidatingAnotherRestaurantKeepsTheLoadedMenu() {
+        menuCache.load("first", id -> {
+            menuCache.invalidate("second");
+            return List.of(ItemResponse.builder().id("item-id").build());
+        });
+        menuCache.getAll(List.of("second", "third"), ids -> {
+            menuCache.invalidate("second");
+            return Map.of("second", List.of(), "third", List.of());
+        });
+
+        assertThat(menuCache.getIfPresent("first")).hasSize(1);
+        assertThat(menuCache.getIfPresent("second")).isNull();
+        assertThat(menuCache.getIfPresent("third")).isEmpty();
+    }
+
+    @Test
+    void testOnlyTheLatestOfOverlappingLoadsIsCached() {
+        menuCache.load("restaurant-id", id -> {
+            menuCache.load("restaurant-id", again -> List.of(ItemResponse.builder().id("fresh").build()));
+            return List.of(ItemResponse.builder().id("stale").build());
+        });
+
+        assertThat(menuCache.getIfPresent("restaurant-id")).extracting(ItemResponse::getId).containsExactly("fresh");
+    }
+
+    @Test
+    void testCacheCountersArePublished() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        menuCache.bindTo(registry);
+
+        menuCache.get("restaurant-id", id -> List.of());
+        menuCache.get("restaurant-id", id -> List.of());
+
+        assertThat(registry.get("cache.gets").tag("cache", "menu").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "menu").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.catalogservice.caches;
+
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.services.ItemsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MenuCacheWarmerTest {
+    @Mock
+    private ItemsService itemsService;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Mock
+    private MenuPopularity menuPopularity;
+
+    private MenuCacheWarmer menuCacheWarmer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        menuCacheWarmer = new MenuCacheWarmer(itemsService, responseBodyCache, menuPopularity, 10, 2, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testIsOutOfServiceUntilWarmedThenUp() throws InterruptedException {
+        when(menuPopularity.mostPopular(10)).thenReturn(List.of("first", "second"));
+        when(responseBodyCache.serve(anyString(), eq(ResponseBodyCache.MENU), any()))
+                .thenAnswer(invocation -> ResponseEntity.ok(ApiResponse.builder().status(HttpStatus.OK).build()));
+
+        assertThat(menuCacheWarmer.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        menuCacheWarmer.run(new DefaultApplicationArguments());
+
+        Health health = menuCacheWarmer.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("warmed", 2).containsEntry("requested", 2);
+        verify(responseBodyCache).serve(eq("first"), eq(ResponseBodyCache.MENU), any());
+        verify(responseBodyCache).serve(eq("second"), eq(ResponseBodyCache.MENU), any());
+    }
+
+    @Test
+    void testFailedMenusAreSkipped() throws InterruptedException {
+        when(menuPopularity.mostPopular(10)).thenReturn(List.of("first", "second"));
+        when(responseBodyCache.serve(eq("first"), eq(ResponseBodyCache.MENU), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        menuCacheWarmer.run(new DefaultApplicationArguments());
+
+        Health health = menuCacheWarmer.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("warmed", 1).containsEntry("requested", 2);
+    }
+
+    @Test
+    void testUnreadablePopularityStillReportsUp() throws InterruptedException {
+        when(menuPopularity.mostPopular(10)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        menuCacheWarmer.run(new DefaultApplicationArguments());
+
+        assertThat(menuCacheWarmer.health().getStatus()).isEqualTo(Status.UP);
+        verify(responseBodyCache, never()).serve(anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.catalogservice.caches;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MenuPopularityTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MenuPopularity menuPopularity;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        menuPopularity = new MenuPopularity(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesOneRowPerRestaurantWithItsReadCount() {
+        menuPopularity.record("first");
+        menuPopularity.record("first");
+        menuPopularity.record("second");
+
+        menuPopularity.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue())
+                .extracting(row -> row[0] + "=" + row[1])
+                .containsExactlyInAnyOrder("first=2", "second=1");
+    }
+
+    @Test
+    void testFlushResetsCountsAndSkipsTheDatabaseWhenNothingWasRead() {
+        menuPopularity.record("first");
+        menuPopularity.flush();
+
+        menuPopularity.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testFailedFlushIsSwallowed() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        menuPopularity.record("first");
+
+        menuPopularity.flush();
+        menuPopularity.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testNoFlushWithoutReads() {
+        menuPopularity.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.catalogservice.caches;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.caches.RequestCoalescer.Operation;
+import org.example.catalogservice.exceptions.RestaurantNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+    private static final int CALLERS = 8;
+
+    private RequestCoalescer requestCoalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        requestCoalescer = new RequestCoalescer();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallsForAKeyShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> requestCoalescer.execute(Operation.MENU, "id", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "menu";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            waiters.add(executor.submit(() -> requestCoalescer.execute(Operation.MENU, "id", () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        while (requestCoalescer.coalesced(Operation.MENU) < CALLERS - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("menu");
+        for (Future<String> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("menu");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(requestCoalescer.loads(Operation.MENU)).isEqualTo(1);
+    }
+
+    @Test
+    void testWaitersShareTheLoadsException() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> requestCoalescer.execute(Operation.RESTAURANT, "id", () -> {
+            loading.countDown();
+            await(release);
+            throw new RestaurantNotFoundException("Restaurant not found");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> waiter = executor.submit(() -> requestCoalescer.execute(Operation.RESTAURANT, "id", () -> "restaurant"));
+        while (requestCoalescer.coalesced(Operation.RESTAURANT) < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RestaurantNotFoundException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RestaurantNotFoundException.class);
+    }
+
+    @Test
+    void testFinishedLoadIsNotReused() {
+        AtomicInteger loads = new AtomicInteger();
+
+        requestCoalescer.execute(Operation.ITEM, List.of("id", "name"), loads::incrementAndGet);
+        int second = requestCoalescer.execute(Operation.ITEM, List.of("id", "name"), loads::incrementAndGet);
+
+        assertThat(second).isEqualTo(2);
+        assertThat(requestCoalescer.coalesced(Operation.ITEM)).isZero();
+    }
+
+    @Test
+    void testDifferentKeysAndOperationsAreNotCoalesced() {
+        requestCoalescer.execute(Operation.MENU, "first", () -> requestCoalescer.execute(Operation.MENU, "second",
+                () -> requestCoalescer.execute(Operation.RESTAURANT, "first", () -> "value")));
+
+        assertThat(requestCoalescer.loads(Operation.MENU)).isEqualTo(2);
+        assertThat(requestCoalescer.loads(Operation.RESTAURANT)).isEqualTo(1);
+        assertThat(requestCoalescer.coalesced(Operation.MENU)).isZero();
+    }
+
+    @Test
+    void testCountersArePublished() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        requestCoalescer.bindTo(registry);
+
+        requestCoalescer.execute(Operation.MENU, "id", () -> "menu");
+
+        assertThat(registry.get("catalog.requests.loads").tag("operation", "menu").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("catalog.requests.coalesced").tag("operation", "menu").functionCounter().count())
+                .isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
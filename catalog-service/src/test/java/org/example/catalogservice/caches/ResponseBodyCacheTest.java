@@ -0,0 +1,270 @@
+package org.example.catalogservice.caches;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.exceptions.RestaurantNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseBodyCacheTest {
+    private ResponseBodyCache responseBodyCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        responseBodyCache = new ResponseBodyCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+                DataSize.ofMegabytes(1), Duration.ofMinutes(10), 10);
+        loads = new AtomicInteger();
+    }
+
+    private ResponseEntity<ApiResponse> load() {
+        loads.incrementAndGet();
+        return ResponseEntity.ok(ApiResponse.builder()
+                .status(HttpStatus.OK)
+                .data(Map.of("restaurant", "name"))
+                .build());
+    }
+
+    private ResponseEntity<ApiResponse> loadMenu() {
+        loads.incrementAndGet();
+        return ResponseEntity.ok(ApiResponse.builder()
+                .status(HttpStatus.OK)
+                .data(Map.of("items", "Biryani, Dosa, Idli, Vada, ".repeat(100)))
+                .build());
+    }
+
+    private static HttpHeaders request(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+
+    @Test
+    void testOnlyCachedViewsAreServedWithoutLoading() {
+        assertThat(responseBodyCache.serveIfCached("id", ResponseBodyCache.MENU, new HttpHeaders())).isEmpty();
+
+        ResponseEntity<?> loaded = responseBodyCache.serve("id", ResponseBodyCache.MENU, new HttpHeaders(), this::loadMenu);
+
+        assertThat(responseBodyCache.serveIfCached("id", ResponseBodyCache.MENU, new HttpHeaders()))
+                .hasValueSatisfying(cached -> assertThat(cached.getHeaders().getETag()).isEqualTo(loaded.getHeaders().getETag()));
+        assertThat(responseBodyCache.serveIfCached("id", ResponseBodyCache.MENU,
+                request(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testSuccessfulResponseIsSerializedOnceWithETag() {
+        ResponseEntity<?> first = responseBodyCache.serve("id", ResponseBodyCache.RESTAURANT, this::load);
+        ResponseEntity<?> second = responseBodyCache.serve("id", ResponseBodyCache.RESTAURANT, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(first.getHeaders().getETag()).startsWith("\"").isEqualTo(second.getHeaders().getETag());
+        assertThat(second.getBody()).isInstanceOf(byte[].class);
+    }
+
+    @Test
+    void testInvalidatedRestaurantIsLoadedAgain() {
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+        responseBodyCache.serve("id", ResponseBodyCache.item("name"), this::load);
+        responseBodyCache.invalidate("id");
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+        responseBodyCache.serve("id", ResponseBodyCache.item("name"), this::load);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void testResponseLoadedAcrossAnInvalidationIsNotCached() {
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, () -> {
+            ResponseEntity<ApiResponse> response = load();
+            responseBodyCache.invalidate("id");
+            return response;
+        });
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testResponseLoadedAcrossAnotherRestaurantsInvalidationIsCached() {
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, () -> {
+            ResponseEntity<ApiResponse> response = load();
+            responseBodyCache.invalidate("other-id");
+            responseBodyCache.invalidateListings();
+            return response;
+        });
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testFailedLoadsTakeNoRoom() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        responseBodyCache.bindTo(registry);
+
+        assertThatThrownBy(() -> responseBodyCache.serve("unknown", ResponseBodyCache.MENU, () -> {
+            throw new RestaurantNotFoundException("Restaurant not found");
+        })).isInstanceOf(RestaurantNotFoundException.class);
+        responseBodyCache.serve("unknown", ResponseBodyCache.RESTAURANT, () -> ResponseEntity.badRequest().build());
+
+        assertThat(registry.get("cache.size").tag("cache", "responses").gauge().value()).isZero();
+    }
+
+    @Test
+    void testOverlappingLoadsOfOneRestaurantAreAllCached() {
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, () -> {
+            responseBodyCache.serve("id", ResponseBodyCache.RESTAURANT, this::load);
+            return load();
+        });
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+        responseBodyCache.serve("id", ResponseBodyCache.RESTAURANT, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testResponseWithoutBodyIsNotCached() {
+        ResponseEntity<ApiResponse> empty = new ResponseEntity<>(HttpStatus.OK);
+
+        ResponseEntity<?> response = responseBodyCache.serve("id", ResponseBodyCache.MENU, () -> empty);
+
+        assertThat(response).isSameAs(empty);
+        assertThat(responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load).getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    void testBinaryFormatIsServedWhenAccepted() throws IOException {
+        ResponseEntity<?> json = responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+        ResponseEntity<?> cbor = responseBodyCache.serve("id", ResponseBodyCache.MENU,
+                request(HttpHeaders.ACCEPT, "application/cbor"), this::load);
+
+        assertThat(cbor.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(cbor.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        assertThat(cbor.getHeaders().getETag()).isNotEqualTo(json.getHeaders().getETag());
+        assertThat(new CBORMapper().readTree((byte[]) cbor.getBody()).path("data").path("restaurant").asText())
+                .isEqualTo("name");
+        assertThat(loads).hasValue(2);
+
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, request(HttpHeaders.ACCEPT, "application/cbor"), this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testFormatFollowsTheAcceptHeader() {
+        assertThat(contentType("text/html,application/xhtml+xml,*/*;q=0.8")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(contentType("application/json;q=0.5, application/x-jackson-smile"))
+                .isEqualTo(MediaType.valueOf("application/x-jackson-smile"));
+        assertThat(contentType("application/cbor;q=0, */*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(contentType("text/csv")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(contentType("not a media type")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(contentType(null)).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void testCompressedBodyIsServedWhenAccepted() throws IOException {
+        ResponseEntity<?> identity = responseBodyCache.serve("id", ResponseBodyCache.MENU, new HttpHeaders(), this::loadMenu);
+        ResponseEntity<?> gzip = responseBodyCache.serve("id", ResponseBodyCache.MENU,
+                request(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"), this::loadMenu);
+
+        byte[] body = (byte[]) identity.getBody();
+        byte[] compressed = (byte[]) gzip.getBody();
+        assertThat(loads).hasValue(1);
+        assertThat(identity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getETag()).isNotEqualTo(identity.getHeaders().getETag());
+        assertThat(compressed).hasSizeLessThan(body.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(body);
+        }
+        assertThat(responseBodyCache.savedBytes(BodyEncoding.GZIP)).isEqualTo(body.length - compressed.length);
+        assertThat(responseBodyCache.compressionRatio(BodyEncoding.GZIP)).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void testBodyIsCompressedOnceWhenFirstAskedFor() {
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, new HttpHeaders(), this::loadMenu);
+        assertThat(responseBodyCache.compressionRatio(BodyEncoding.GZIP)).isNaN();
+
+        ResponseEntity<?> first = responseBodyCache.serve("id", ResponseBodyCache.MENU,
+                request(HttpHeaders.ACCEPT_ENCODING, "gzip"), this::loadMenu);
+        ResponseEntity<?> second = responseBodyCache.serve("id", ResponseBodyCache.MENU,
+                request(HttpHeaders.ACCEPT_ENCODING, "gzip"), this::loadMenu);
+
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(responseBodyCache.compressionRatio(BodyEncoding.ZSTD)).isNaN();
+    }
+
+    @Test
+    void testBodyLoadedAcrossAnInvalidationIsNotCompressed() {
+        ResponseEntity<?> response = responseBodyCache.serve("id", ResponseBodyCache.MENU,
+                request(HttpHeaders.ACCEPT_ENCODING, "gzip"), () -> {
+                    ResponseEntity<ApiResponse> menu = loadMenu();
+                    responseBodyCache.invalidate("id");
+                    return menu;
+                });
+
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(responseBodyCache.compressionRatio(BodyEncoding.GZIP)).isNaN();
+    }
+
+    @Test
+    void testSmallBodyIsNotCompressed() {
+        ResponseEntity<?> response = responseBodyCache.serve("id", ResponseBodyCache.RESTAURANT,
+                request(HttpHeaders.ACCEPT_ENCODING, "gzip"), this::load);
+
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(responseBodyCache.compressionRatio(BodyEncoding.GZIP)).isNaN();
+    }
+
+    @Test
+    void testInvalidatedListingsAreLoadedAgain() {
+        responseBodyCache.serveListing(null, 20, new HttpHeaders(), this::load);
+        responseBodyCache.serveListing("restaurant-id", 10, new HttpHeaders(), this::load);
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+        responseBodyCache.invalidateListings();
+        responseBodyCache.serveListing(null, 20, new HttpHeaders(), this::load);
+        responseBodyCache.serveListing("restaurant-id", 10, new HttpHeaders(), this::load);
+        responseBodyCache.serve("id", ResponseBodyCache.MENU, this::load);
+
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void testListingPagesAreKeptApartFromRestaurants() {
+        responseBodyCache.serveListing(null, 20, new HttpHeaders(), this::load);
+        responseBodyCache.serveListing(null, 20, new HttpHeaders(), this::load);
+        responseBodyCache.serveListing(null, 10, new HttpHeaders(), this::load);
+        responseBodyCache.serve("20", ResponseBodyCache.MENU, this::load);
+        responseBodyCache.invalidate("20");
+        responseBodyCache.serveListing(null, 20, new HttpHeaders(), this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    private MediaType contentType(String accept) {
+        HttpHeaders request = new HttpHeaders();
+        if (accept != null) {
+            request.add(HttpHeaders.ACCEPT, accept);
+        }
+        return responseBodyCache.serve("id", ResponseBodyCache.MENU, request, this::load).getHeaders().getContentType();
+    }
+}
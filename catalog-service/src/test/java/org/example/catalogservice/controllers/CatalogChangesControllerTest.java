@@ -0,0 +1,58 @@
+package org.example.catalogservice.controllers;
+
+import org.example.catalogservice.exceptions.InvalidCursorException;
+import org.example.catalogservice.services.CatalogChangesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.example.catalogservice.constants.Constants.INVALID_CURSOR;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogChangesControllerTest {
+    @MockBean
+    private CatalogChangesService catalogChangesService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    public void test_fetchChangesSinceSequence_ok() throws Exception {
+        when(catalogChangesService.fetchSince(42L, 100)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(get("/changes").param("since", "42").param("size", "100"))
+                .andExpect(status().isOk());
+        verify(catalogChangesService, times(1)).fetchSince(42L, 100);
+    }
+
+    @Test
+    public void test_fetchChangesFromTheStart_ok() throws Exception {
+        when(catalogChangesService.fetchSince(null, null)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(get("/changes")).andExpect(status().isOk());
+        verify(catalogChangesService, times(1)).fetchSince(null, null);
+    }
+
+    @Test
+    public void test_fetchChangesWithNegativeSequence_badRequest() throws Exception {
+        when(catalogChangesService.fetchSince(-1L, null)).thenThrow(new InvalidCursorException(INVALID_CURSOR));
+
+        mvc.perform(get("/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(INVALID_CURSOR));
+    }
+}
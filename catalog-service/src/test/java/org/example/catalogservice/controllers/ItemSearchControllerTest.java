@@ -0,0 +1,76 @@
+package org.example.catalogservice.controllers;
+
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.exceptions.InvalidSearchException;
+import org.example.catalogservice.services.ItemSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.example.catalogservice.constants.Constants.SEARCH_TEXT_REQUIRED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ItemSearchControllerTest {
+    @MockBean
+    private ItemSearchService itemSearchService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    public void test_searchItemsWithFilters_ok() throws Exception {
+        when(itemSearchService.search("biryani", "Chennai", null, Money.ofRupees(100), Money.ofRupees(300), null, 10))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(get("/items/search")
+                        .param("q", "biryani")
+                        .param("city", "Chennai")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "300")
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+        verify(itemSearchService, times(1)).search("biryani", "Chennai", null, Money.ofRupees(100), Money.ofRupees(300), null, 10);
+    }
+
+    @Test
+    public void test_searchWithoutText_badRequest() throws Exception {
+        mvc.perform(get("/items/search")).andExpect(status().isBadRequest());
+        verify(itemSearchService, never()).search(anyString(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void test_searchWithUnusableText_badRequest() throws Exception {
+        when(itemSearchService.search("!!", null, null, null, null, null, null))
+                .thenThrow(new InvalidSearchException(SEARCH_TEXT_REQUIRED));
+
+        mvc.perform(get("/items/search").param("q", "!!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(SEARCH_TEXT_REQUIRED));
+    }
+
+    @Test
+    public void test_typeaheadWithinRestaurant_ok() throws Exception {
+        when(itemSearchService.typeahead("bir", "abc", null)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(get("/items/typeahead").param("prefix", "bir").param("restaurantId", "abc"))
+                .andExpect(status().isOk());
+        verify(itemSearchService, times(1)).typeahead("bir", "abc", null);
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.catalogservice.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.example.catalogservice.dto.ApiResponse;
 import org.example.catalogservice.dto.ItemRequest;
+import org.example.catalogservice.dto.Money;
 import org.example.catalogservice.exceptions.ItemAlreadyExistsException;
 import org.example.catalogservice.exceptions.ItemNotFoundException;
 import org.example.catalogservice.exceptions.RestaurantNotFoundException;
@@ -12,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,13 +23,20 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.Map;
+
+import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@ActiveProfiles("test")
 class ItemsControllerTest {
     @MockBean
     private ItemsService itemsService;
@@ -46,7 +57,7 @@ class ItemsControllerTest {
     public void testAddItemsToRestaurantCreated() throws Exception {
         ItemRequest request = ItemRequest.builder()
                 .name("name")
-                .price(200.00)
+                .price(Money.ofRupees(200))
                 .build();
         String restaurantId = "abc";
         String req = objectMapper.writeValueAsString(request);
@@ -64,7 +75,7 @@ class ItemsControllerTest {
     public void testRandomUserAddItemsToRestaurantUnauthorized() throws Exception {
         ItemRequest request = ItemRequest.builder()
                 .name("name")
-                .price(200.00)
+                .price(Money.ofRupees(200))
                 .build();
         String restaurantId = "abc";
         String req = objectMapper.writeValueAsString(request);
@@ -81,7 +92,7 @@ class ItemsControllerTest {
     public void testRestaurantNotFoundWhileAddingTheItem_badRequest() throws Exception {
         ItemRequest request = ItemRequest.builder()
                 .name("name")
-                .price(200.00)
+                .price(Money.ofRupees(200))
                 .build();
         String restaurantId = "abc";
         String req = objectMapper.writeValueAsString(request);
@@ -100,7 +111,7 @@ class ItemsControllerTest {
     public void test_itemAlreadyPresentInRestaurant_badRequest() throws Exception {
         ItemRequest request = ItemRequest.builder()
                 .name("name")
-                .price(200.00)
+                .price(Money.ofRupees(200))
                 .build();
         String restaurantId = "abc";
         String req = objectMapper.writeValueAsString(request);
@@ -114,6 +125,30 @@ class ItemsControllerTest {
         verify(itemsService, times(1)).add(restaurantId, request);
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void testBulkAddItemsFromNdjson_ok() throws Exception {
+        String restaurantId = "abc";
+
+        when(itemsService.bulkAdd(eq(restaurantId), any(), eq(MediaType.APPLICATION_NDJSON)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(post("/restaurants/" + restaurantId + "/items/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"name\":\"name\",\"price\":200}\n")
+        ).andExpect(status().isOk());
+        verify(itemsService, times(1)).bulkAdd(eq(restaurantId), any(), eq(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    public void testRandomUserBulkAddItems_unauthorized() throws Exception {
+        mvc.perform(post("/restaurants/abc/items/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"name\":\"name\",\"price\":200}\n")
+        ).andExpect(status().isUnauthorized());
+        verify(itemsService, never()).bulkAdd(any(), any(), any());
+    }
+
     @Test
     public void test_fetchAllItemsByRestaurant_ok() throws Exception {
         String restaurantId = "abc";
@@ -124,6 +159,44 @@ class ItemsControllerTest {
         verify(itemsService, times(1)).fetchAll(restaurantId);
     }
 
+    @Test
+    public void test_fetchAllItemsWithMatchingETag_notModifiedWithoutReloading() throws Exception {
+        String restaurantId = "etag-restaurant";
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("items", List.of()))
+                .build();
+
+        when(itemsService.fetchAll(restaurantId)).thenReturn(ResponseEntity.ok(response));
+
+        String etag = mvc.perform(get("/restaurants/" + restaurantId + "/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get("/restaurants/" + restaurantId + "/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(itemsService, times(1)).fetchAll(restaurantId);
+    }
+
+    @Test
+    public void test_fetchAllItemsAsCbor_ok() throws Exception {
+        String restaurantId = "cbor-restaurant";
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("items", List.of()))
+                .build();
+
+        when(itemsService.fetchAll(restaurantId)).thenReturn(ResponseEntity.ok(response));
+
+        byte[] body = mvc.perform(get("/restaurants/" + restaurantId + "/items").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(FETCHED, new CBORMapper().readTree(body).path("message").asText());
+    }
+
     @Test
     public void test_restaurantNotFoundWhileFetchingAllItems_badRequest() throws Exception {
         String restaurantId = "abc";
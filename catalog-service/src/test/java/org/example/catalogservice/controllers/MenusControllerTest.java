@@ -0,0 +1,87 @@
+package org.example.catalogservice.controllers;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.exceptions.InvalidBatchException;
+import org.example.catalogservice.services.ItemsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.example.catalogservice.constants.Constants.APPLICATION_SMILE_VALUE;
+import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.example.catalogservice.constants.Constants.TOO_MANY_RESTAURANT_IDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MenusControllerTest {
+    @MockBean
+    private ItemsService itemsService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    public void test_fetchMenusOfSeveralRestaurants_ok() throws Exception {
+        when(itemsService.fetchMenus(List.of("a", "b", "c"))).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(get("/menus").param("restaurantIds", "a,b,c"))
+                .andExpect(status().isOk());
+        verify(itemsService, times(1)).fetchMenus(List.of("a", "b", "c"));
+    }
+
+    @Test
+    public void test_fetchMenusAsSmileOrJson_ok() throws Exception {
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("menus", Map.of()))
+                .build();
+        when(itemsService.fetchMenus(List.of("a"))).thenReturn(ResponseEntity.ok(response));
+
+        byte[] body = mvc.perform(get("/menus").param("restaurantIds", "a").accept(APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(FETCHED, new SmileMapper().readTree(body).path("message").asText());
+
+        mvc.perform(get("/menus").param("restaurantIds", "a").accept(MediaType.TEXT_HTML, MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void test_fetchMenusWithoutIds_badRequest() throws Exception {
+        mvc.perform(get("/menus")).andExpect(status().isBadRequest());
+        verify(itemsService, never()).fetchMenus(anyList());
+    }
+
+    @Test
+    public void test_fetchTooManyMenus_badRequest() throws Exception {
+        when(itemsService.fetchMenus(anyList())).thenThrow(new InvalidBatchException(TOO_MANY_RESTAURANT_IDS));
+
+        mvc.perform(get("/menus").param("restaurantIds", "a,b"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(TOO_MANY_RESTAURANT_IDS));
+    }
+}
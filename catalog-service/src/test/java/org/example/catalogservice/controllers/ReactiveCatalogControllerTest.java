@@ -0,0 +1,97 @@
+package org.example.catalogservice.controllers;
+
+import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.exceptions.RestaurantNotFoundException;
+import org.example.catalogservice.services.ReactiveCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveCatalogControllerTest {
+    @MockBean
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    public void test_streamRestaurantsAsNdjson_ok() throws Exception {
+        Address address = Address.builder().buildingNumber(1).street("street").locality("locality")
+                .city("city").state("state").country("country").build();
+        when(reactiveCatalogService.fetchAll(null, null)).thenReturn(Flux.just(
+                RestaurantResponse.builder().id("first").name("first").address(address).build(),
+                RestaurantResponse.builder().id("second").name("second").address(address).build()));
+
+        MvcResult result = mvc.perform(get("/reactive/restaurants").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"id\":\"first\"")))
+                .andExpect(content().string(containsString("\"id\":\"second\"")));
+    }
+
+    @Test
+    public void test_streamRestaurantsAfterAnId_ok() throws Exception {
+        when(reactiveCatalogService.fetchAll("first", 10)).thenReturn(Flux.empty());
+
+        MvcResult result = mvc.perform(get("/reactive/restaurants").param("after", "first").param("size", "10")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        verify(reactiveCatalogService, times(1)).fetchAll("first", 10);
+    }
+
+    @Test
+    public void test_fetchMenu_ok() throws Exception {
+        when(reactiveCatalogService.fetchMenu(eq("abc"), any(HttpHeaders.class))).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        MvcResult result = mvc.perform(get("/reactive/restaurants/abc/items"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void test_fetchUnknownRestaurant_badRequest() throws Exception {
+        when(reactiveCatalogService.fetchById("abc")).thenReturn(Mono.error(new RestaurantNotFoundException("Restaurant not found")));
+
+        MvcResult result = mvc.perform(get("/reactive/restaurants/abc"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+}
@@ -2,33 +2,58 @@ package org.example.catalogservice.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.ApiResponse;
 import org.example.catalogservice.dto.RestaurantRequest;
+import org.example.catalogservice.exceptions.InvalidCursorException;
+import org.example.catalogservice.exceptions.InvalidLocationException;
 import org.example.catalogservice.exceptions.RestaurantAlreadyExistsException;
 import org.example.catalogservice.exceptions.RestaurantNotFoundException;
 import org.example.catalogservice.services.RestaurantsService;
+import org.example.catalogservice.utils.Cursors;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.example.catalogservice.constants.Constants.INVALID_COORDINATES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@ActiveProfiles("test")
 class RestaurantsControllerTest {
     @MockBean
     private RestaurantsService restaurantsService;
@@ -121,10 +146,75 @@ class RestaurantsControllerTest {
 
     @Test
     public void test_fetchAllRestaurants() throws Exception {
-        when(restaurantsService.fetchAll()).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        when(restaurantsService.fetchAll(null, null)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mvc.perform(get("/restaurants")).andExpect(status().isOk());
-        verify(restaurantsService, times(1)).fetchAll();
+        verify(restaurantsService, times(1)).fetchAll(null, null);
+    }
+
+    @Test
+    public void test_fetchRestaurantsPageAfterCursor() throws Exception {
+        when(restaurantsService.fetchAll("cursor", 10)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(get("/restaurants").param("cursor", "cursor").param("size", "10")).andExpect(status().isOk());
+        verify(restaurantsService, times(1)).fetchAll("cursor", 10);
+    }
+
+    @Test
+    public void test_fetchRestaurantsPageGzipped_ok() throws Exception {
+        List<Map<String, String>> restaurants = IntStream.range(0, 50)
+                .mapToObj(i -> Map.of("id", "restaurant-" + i, "name", "Restaurant " + i))
+                .toList();
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("restaurants", restaurants))
+                .build();
+
+        when(restaurantsService.fetchAll("gzip-cursor", 50)).thenReturn(ResponseEntity.ok(response));
+
+        for (int i = 0; i < 2; i++) {
+            byte[] body = mvc.perform(get("/restaurants").param("cursor", "gzip-cursor").param("size", "50")
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andReturn().getResponse().getContentAsByteArray();
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertEquals(FETCHED, objectMapper.readTree(in).path("message").asText());
+            }
+        }
+        verify(restaurantsService, times(1)).fetchAll("gzip-cursor", 50);
+    }
+
+    @Test
+    public void test_invalidCursorWhileFetchingRestaurants_badRequest() throws Exception {
+        when(restaurantsService.fetchAll("cursor", null)).thenThrow(new InvalidCursorException("Cursor is malformed"));
+
+        mvc.perform(get("/restaurants").param("cursor", "cursor")).andExpect(status().isBadRequest());
+        verify(restaurantsService, times(1)).fetchAll("cursor", null);
+    }
+
+    @Test
+    public void test_malformedCursorIsRejectedBeforeTheService_badRequest() throws Exception {
+        mvc.perform(get("/restaurants").param("cursor", "not a cursor!")).andExpect(status().isBadRequest());
+        verify(restaurantsService, never()).fetchAll("not a cursor!", null);
+    }
+
+    @Test
+    public void test_pageSizesResolvingToTheSamePageShareItsCachedBody() throws Exception {
+        String cursor = Cursors.encode("restaurant-shared-page");
+        ApiResponse response = ApiResponse.builder()
+                .message(FETCHED)
+                .status(HttpStatus.OK)
+                .data(Map.of("restaurants", List.of()))
+                .build();
+        when(restaurantsService.fetchAll(cursor, 0)).thenReturn(ResponseEntity.ok(response));
+
+        mvc.perform(get("/restaurants").param("cursor", cursor).param("size", "0")).andExpect(status().isOk());
+        mvc.perform(get("/restaurants").param("cursor", cursor).param("size", "-1")).andExpect(status().isOk());
+
+        verify(restaurantsService, times(1)).fetchAll(cursor, 0);
+        verify(restaurantsService, never()).fetchAll(cursor, -1);
     }
 
     @Test
@@ -146,4 +236,40 @@ class RestaurantsControllerTest {
         mvc.perform(get("/restaurants/" + restaurantId)).andExpect(status().isBadRequest());
         verify(restaurantsService, times(1)).fetchById(restaurantId);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_fetchNearbyRestaurants_ok() throws Exception {
+        when(restaurantsService.nearby(13.08, 80.27, 3.0, null)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mvc.perform(get("/restaurants/nearby").param("lat", "13.08").param("lon", "80.27").param("radiusKm", "3"))
+                .andExpect(status().isOk());
+        verify(restaurantsService, times(1)).nearby(13.08, 80.27, 3.0, null);
+    }
+
+    @Test
+    public void test_fetchNearbyRestaurantsWithInvalidCoordinates_badRequest() throws Exception {
+        when(restaurantsService.nearby(95.0, 80.27, null, null)).thenThrow(new InvalidLocationException(INVALID_COORDINATES));
+
+        mvc.perform(get("/restaurants/nearby").param("lat", "95").param("lon", "80.27"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void test_exportRestaurantsAsNdjson_ok() throws Exception {
+        String exported = "{\"id\":\"first\"}\n{\"id\":\"second\"}\n";
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(exported.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(restaurantsService).export(any(OutputStream.class));
+
+        MvcResult result = mvc.perform(get("/restaurants/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(exported));
+        verify(restaurantsService, times(1)).export(any(OutputStream.class));
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.catalogservice.datasources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class ReadReplicaRoutingDataSourceTest {
+    private static final String LAG_QUERY = "SELECT seconds FROM replication_lag";
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+
+    private static DriverManagerDataSource database(String node) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", node);
+        jdbcTemplate.execute("CREATE TABLE replication_lag (seconds DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO replication_lag VALUES (0)");
+        return dataSource;
+    }
+
+    private static ReadReplicaRoutingDataSource routing(DataSource primary, DataSource replica) {
+        ReadReplicaRoutingDataSource routing =
+                new ReadReplicaRoutingDataSource(primary, Map.of("replica-0", replica), LAG_QUERY, Duration.ofSeconds(1));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static String node(ReadReplicaRoutingDataSource routing, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(
+                status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @BeforeEach
+    void setup() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToTheReplica() {
+        ReadReplicaRoutingDataSource routing = routing(primary, replica);
+
+        assertThat(node(routing, true)).isEqualTo("replica");
+        assertThat(node(routing, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void testPinnedReadsGoToThePrimary() {
+        ReadReplicaRoutingDataSource routing = routing(primary, replica);
+
+        assertThat(DataSourceRouting.onPrimary(() -> node(routing, true))).isEqualTo("primary");
+        assertThat(DataSourceRouting.isPinnedToPrimary()).isFalse();
+        assertThat(node(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void testLaggingReplicaIsSkippedUntilItCatchesUp() {
+        ReadReplicaRoutingDataSource routing = routing(primary, replica);
+
+        new JdbcTemplate(replica).update("UPDATE replication_lag SET seconds = 5");
+        routing.checkReplicas();
+        assertThat(routing.isAvailable("replica-0")).isFalse();
+        assertThat(node(routing, true)).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("UPDATE replication_lag SET seconds = 0.2");
+        routing.checkReplicas();
+        assertThat(routing.isAvailable("replica-0")).isTrue();
+        assertThat(node(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void testReplicaThatFailsToConnectFallsBackToThePrimary() throws SQLException {
+        DriverManagerDataSource failing = spy(replica);
+        ReadReplicaRoutingDataSource routing = routing(primary, failing);
+        assertThat(routing.isAvailable("replica-0")).isTrue();
+
+        doThrow(new SQLException("down")).when(failing).getConnection();
+
+        assertThat(node(routing, true)).isEqualTo("primary");
+        assertThat(routing.isAvailable("replica-0")).isFalse();
+
+        routing.checkReplicas();
+        assertThat(routing.isAvailable("replica-0")).isFalse();
+    }
+}
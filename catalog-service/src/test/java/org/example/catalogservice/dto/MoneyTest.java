@@ -0,0 +1,61 @@
+package org.example.catalogservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testAmountsAreWrittenInRupeesWithTwoDecimals() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Money.ofPaise(19999))).isEqualTo("199.99");
+        assertThat(objectMapper.writeValueAsString(Money.ofRupees(200))).isEqualTo("200.00");
+        assertThat(objectMapper.writeValueAsString(Money.ofPaise(5))).isEqualTo("0.05");
+        assertThat(objectMapper.writeValueAsString(Money.ofPaise(-150))).isEqualTo("-1.50");
+        assertThat(Money.ofPaise(Long.MIN_VALUE).toString()).isEqualTo("-92233720368547758.08");
+    }
+
+    @Test
+    void testAmountsAreReadExactly() throws Exception {
+        assertThat(objectMapper.readValue("200", Money.class)).isEqualTo(Money.ofRupees(200));
+        assertThat(objectMapper.readValue("199.99", Money.class)).isEqualTo(Money.ofPaise(19999));
+        assertThat(objectMapper.readValue("\"99.5\"", Money.class)).isEqualTo(Money.ofPaise(9950));
+        assertThat(objectMapper.readValue("0.1", Money.class).paise() + objectMapper.readValue("0.2", Money.class).paise())
+                .isEqualTo(30);
+    }
+
+    @Test
+    void testAmountsFinerThanAPaisaAreRejected() {
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("199.999", Money.class));
+        assertThrows(NumberFormatException.class, () -> Money.valueOf("ten"));
+    }
+
+    @Test
+    void testItemResponseRoundTrips() throws Exception {
+        ItemResponse item = new ItemResponse("id", "Dosa", null, "restaurant", Money.ofPaise(12050));
+
+        String json = objectMapper.writeValueAsString(item);
+
+        assertThat(json).contains("\"price\":120.50");
+        assertThat(objectMapper.readValue(json, ItemResponse.class)).isEqualTo(item);
+    }
+
+    @Test
+    void testMinimumPriceIsCheckedInRupees() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        assertThat(validator.validate(ItemRequest.builder().name("a").price(Money.ofRupees(100)).build())).isEmpty();
+        assertThat(validator.validate(ItemRequest.builder().name("a").price(Money.ofPaise(9999)).build()))
+                .extracting(violation -> violation.getMessage())
+                .containsExactly("Price must be at least 100 rupees");
+        assertThat(validator.validate(ItemRequest.builder().name("a").build()))
+                .extracting(violation -> violation.getMessage())
+                .containsExactly("Price is required");
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.catalogservice.exceptions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+    private MeterRegistry meterRegistry;
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(meterRegistry);
+    }
+
+    private double count(String category, String reason) {
+        return meterRegistry.get("catalog.errors").tags("category", category, "reason", reason).counter().count();
+    }
+
+    @Test
+    void testEachBranchIsCountedByCategoryAndReason() {
+        handler.handleRestaurantNotFoundException();
+        handler.handleRestaurantNotFoundException();
+        handler.handleItemAlreadyExistsException();
+        handler.handleInvalidSearchException(new InvalidSearchException("invalid"));
+
+        assertEquals(2, count("not_found", "restaurant_not_found"));
+        assertEquals(1, count("already_exists", "item_already_exists"));
+        assertEquals(1, count("validation", "invalid_search"));
+    }
+
+    @Test
+    void testExhaustedConnectionPoolIsCountedAsUnavailable() {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, handler.handleConnectionPoolExhausted().getStatusCode());
+        assertEquals(1, count("unavailable", "database_busy"));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.catalogservice.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    private static FilterChain recordingPins(List<Boolean> pinned) {
+        return (request, response) -> pinned.add(DataSourceRouting.isPinnedToPrimary());
+    }
+
+    @Test
+    void testWriteHandsOutTheCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Boolean> pinned = new ArrayList<>();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/restaurants"), response, recordingPins(pinned));
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(pinned).containsExactly(false);
+    }
+
+    @Test
+    void testReadsWithTheCookieArePinnedToThePrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/restaurants/abc");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Boolean> pinned = new ArrayList<>();
+
+        filter.doFilter(request, response, recordingPins(pinned));
+
+        assertThat(pinned).containsExactly(true);
+        assertThat(DataSourceRouting.isPinnedToPrimary()).isFalse();
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE)).isNull();
+    }
+
+    @Test
+    void testReadsWithoutTheCookieAreNotPinned() throws Exception {
+        List<Boolean> pinned = new ArrayList<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/restaurants/abc"), new MockHttpServletResponse(),
+                recordingPins(pinned));
+
+        assertThat(pinned).containsExactly(false);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.catalogservice.indexes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemNameIndexTest {
+    private ItemNameIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ItemNameIndex();
+        index.add("r1", "Chicken Biryani");
+        index.add("r2", "Chicken Biryani");
+        index.add("r3", "chicken biryani");
+        index.add("r1", "Chicken 65");
+        index.add("r2", "Chicken Tikka");
+        index.add("r3", "Chicken Tikka");
+        index.add("r1", "Chilli Paneer");
+        index.add("r2", "Dosa");
+    }
+
+    @Test
+    void testCompletionsAreRankedByHowManyRestaurantsOfferTheName() {
+        assertEquals(List.of("Chicken Biryani", "Chicken Tikka", "Chilli Paneer", "Chicken 65"), index.complete("ch", 10));
+    }
+
+    @Test
+    void testCompletionsAreLimitedToTopK() {
+        assertEquals(List.of("Chicken Biryani", "Chicken Tikka"), index.complete("CHICKEN", 2));
+    }
+
+    @Test
+    void testPrefixEndingInsideAnEdgeAndExactName() {
+        assertEquals(List.of("Chicken Tikka"), index.complete("chicken t", 10));
+        assertEquals(List.of("Dosa"), index.complete("dosa", 10));
+    }
+
+    @Test
+    void testUnknownPrefixHasNoCompletions() {
+        assertEquals(List.of(), index.complete("chickpea", 10));
+        assertEquals(List.of(), index.complete("idli", 10));
+    }
+
+    @Test
+    void testRestaurantScopedCompletionsAreAlphabetical() {
+        assertEquals(List.of("Chicken 65", "Chicken Biryani", "Chilli Paneer"), index.complete("r1", "chi", 10));
+        assertEquals(List.of("Dosa"), index.complete("r2", "d", 10));
+        assertEquals(List.of(), index.complete("r4", "d", 10));
+    }
+
+    @Test
+    void testAddingTheSameNameTwiceIsCountedOnce() {
+        index.add("r2", "Dosa");
+        index.add("r2", "dosa");
+        index.add("r1", "Chicken 65");
+        index.add("r4", "Chicken 65");
+
+        assertEquals(9, index.size());
+        assertEquals(List.of("Chicken Biryani", "Chicken 65"), index.complete("chicken", 2));
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.catalogservice.indexes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestaurantGeoIndexTest {
+    @Test
+    void testNearestRestaurantsWithinRadiusAreReturnedNearestFirst() {
+        RestaurantGeoIndex index = new RestaurantGeoIndex();
+        index.add("t-nagar", 13.0418, 80.2341);
+        index.add("mylapore", 13.0368, 80.2676);
+        index.add("egmore", 13.0732, 80.2609);
+        index.add("bengaluru", 12.9716, 77.5946);
+
+        List<RestaurantGeoIndex.Nearby> nearby = index.nearest(13.0400, 80.2500, 10, 10);
+
+        assertEquals(List.of("t-nagar", "mylapore", "egmore"), nearby.stream().map(RestaurantGeoIndex.Nearby::id).toList());
+        assertTrue(nearby.get(0).distanceKm() < nearby.get(1).distanceKm());
+    }
+
+    @Test
+    void testLimitAndRadiusAreApplied() {
+        RestaurantGeoIndex index = new RestaurantGeoIndex();
+        index.add("a", 13.0410, 80.2500);
+        index.add("b", 13.0500, 80.2500);
+        index.add("c", 13.2000, 80.2500);
+
+        assertEquals(List.of("a"), index.nearest(13.0400, 80.2500, 50, 1).stream().map(RestaurantGeoIndex.Nearby::id).toList());
+        assertEquals(List.of("a", "b"), index.nearest(13.0400, 80.2500, 5, 10).stream().map(RestaurantGeoIndex.Nearby::id).toList());
+    }
+
+    @Test
+    void testRestaurantsAcrossTheAntimeridianAreFound() {
+        RestaurantGeoIndex index = new RestaurantGeoIndex();
+        index.add("west", -16.5, 179.999);
+
+        assertEquals(1, index.nearest(-16.5, -179.999, 5, 10).size());
+    }
+
+    @Test
+    void testAddingTheSameRestaurantTwiceIsIgnored() {
+        RestaurantGeoIndex index = new RestaurantGeoIndex();
+        index.add("a", 13.04, 80.25);
+        index.add("a", 13.04, 80.25);
+
+        assertEquals(1, index.size());
+        assertEquals(1, index.nearest(13.04, 80.25, 1, 10).size());
+    }
+
+    @Test
+    void testNearestMatchesAFullScan() {
+        Random random = new Random(42);
+        RestaurantGeoIndex index = new RestaurantGeoIndex();
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            double[] point = {12.8 + random.nextDouble() * 0.5, 80.0 + random.nextDouble() * 0.5};
+            points.add(point);
+            index.add(String.valueOf(i), point[0], point[1]);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 12.8 + random.nextDouble() * 0.5;
+            double longitude = 80.0 + random.nextDouble() * 0.5;
+
+            List<Double> expected = points.stream()
+                    .map(point -> RestaurantGeoIndex.distanceKm(latitude, longitude, point[0], point[1]))
+                    .filter(distance -> distance <= 8)
+                    .sorted(Comparator.naturalOrder())
+                    .limit(20)
+                    .toList();
+            List<Double> actual = index.nearest(latitude, longitude, 8, 20).stream()
+                    .map(RestaurantGeoIndex.Nearby::distanceKm)
+                    .toList();
+
+            assertEquals(expected, actual);
+        }
+    }
+}
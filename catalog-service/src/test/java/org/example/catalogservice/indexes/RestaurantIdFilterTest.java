@@ -0,0 +1,82 @@
+package org.example.catalogservice.indexes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantIdFilterTest {
+    private static final int RESTAURANTS = 10_000;
+
+    @Test
+    void testEveryIdIsLetThroughUntilLoadedAndFollowing() {
+        RestaurantIdFilter filter = new RestaurantIdFilter(RESTAURANTS, 0.01);
+
+        assertThat(filter.mightContain("unknown")).isTrue();
+
+        filter.markLoaded();
+        assertThat(filter.mightContain("unknown")).isTrue();
+
+        filter.markFollowing();
+        assertThat(filter.mightContain("unknown")).isFalse();
+    }
+
+    @Test
+    void testReadsPinnedToThePrimaryAreNeverRejected() {
+        RestaurantIdFilter filter = new RestaurantIdFilter(RESTAURANTS, 0.01);
+        filter.markLoaded();
+        filter.markFollowing();
+
+        assertThat(filter.rejects("unknown")).isTrue();
+        assertThat(DataSourceRouting.onPrimary(() -> filter.rejects("unknown"))).isFalse();
+    }
+
+    @Test
+    void testAddedIdsAreNeverRejected() {
+        RestaurantIdFilter filter = new RestaurantIdFilter(RESTAURANTS, 0.01);
+        for (int i = 0; i < RESTAURANTS; i++) {
+            filter.add("restaurant-" + i);
+        }
+        filter.markLoaded();
+        filter.markFollowing();
+
+        for (int i = 0; i < RESTAURANTS; i++) {
+            assertThat(filter.mightContain("restaurant-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTheConfiguredRate() {
+        RestaurantIdFilter filter = new RestaurantIdFilter(RESTAURANTS, 0.01);
+        for (int i = 0; i < RESTAURANTS; i++) {
+            filter.add("restaurant-" + i);
+        }
+        filter.markLoaded();
+        filter.markFollowing();
+
+        int falsePositives = 0;
+        for (int i = 0; i < RESTAURANTS; i++) {
+            if (filter.mightContain("unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(RESTAURANTS * 2 / 100);
+    }
+
+    @Test
+    void testRejectionsArePublished() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RestaurantIdFilter filter = new RestaurantIdFilter(RESTAURANTS, 0.01);
+        filter.bindTo(registry);
+        filter.add("known");
+        filter.markLoaded();
+        filter.markFollowing();
+
+        filter.mightContain("known");
+        filter.mightContain("unknown");
+
+        assertThat(registry.get("catalog.restaurants.filter.rejections").functionCounter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.catalogservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRequestRepositoryAndErrorMetricsArePublished() throws Exception {
+        mvc.perform(get("/restaurants/metrics-missing/items")).andExpect(status().isBadRequest());
+
+        assertTrue(meterRegistry.get("http.server.requests")
+                .tag("uri", "/restaurants/{restaurantId}/items")
+                .timer().count() >= 1);
+        assertEquals(1, meterRegistry.get("catalog.repository.calls")
+                .tags("repository", "ItemsRepository", "method", "findAllByRestaurantId", "outcome", "success")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("catalog.repository.calls")
+                .tags("repository", "RestaurantsRepository", "method", "existsById", "outcome", "success")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("catalog.errors")
+                .tags("category", "not_found", "reason", "restaurant_not_found")
+                .counter().count());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("catalog_repository_calls_seconds_bucket")))
+                .andExpect(content().string(containsString("catalog_errors_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("catalog_datasource_saturation")));
+    }
+}
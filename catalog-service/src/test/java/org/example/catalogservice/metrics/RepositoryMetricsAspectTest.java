@@ -0,0 +1,70 @@
+package org.example.catalogservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.dto.ItemSearchRequest;
+import org.example.catalogservice.dto.ItemSearchResult;
+import org.example.catalogservice.repositories.ItemSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryMetricsAspectTest {
+    private MeterRegistry meterRegistry;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ItemSearchRepository repository;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ItemSearchRepository(jdbcTemplate));
+        factory.addAspect(new RepositoryMetricsAspect(meterRegistry));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCallsAreTimedAndReturnedRowsAreCounted() {
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(new ItemSearchResult(), new ItemSearchResult()));
+
+        repository.search(ItemSearchRequest.builder().limit(10).build());
+        repository.search(ItemSearchRequest.builder().limit(10).build());
+
+        assertEquals(2, meterRegistry.get("catalog.repository.calls")
+                .tags("repository", "ItemSearchRepository", "method", "search", "outcome", "success")
+                .timer().count());
+        assertEquals(4, meterRegistry.get("catalog.repository.rows")
+                .tags("repository", "ItemSearchRepository", "method", "search")
+                .summary().totalAmount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedCallsAreTimedAsErrors() {
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> repository.search(ItemSearchRequest.builder().limit(10).build()));
+
+        assertEquals(1, meterRegistry.get("catalog.repository.calls")
+                .tags("repository", "ItemSearchRepository", "method", "search", "outcome", "error")
+                .timer().count());
+        assertEquals(0, meterRegistry.find("catalog.repository.rows").summaries().size());
+    }
+}
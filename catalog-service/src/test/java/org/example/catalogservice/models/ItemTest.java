@@ -2,6 +2,7 @@ package org.example.catalogservice.models;
 
 
 import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -23,7 +24,7 @@ class ItemTest {
                 .id("item-id")
                 .name("Test Item")
                 .description("Test Description")
-                .price(9.99)
+                .price(Money.ofPaise(999))
                 .restaurant(restaurant)
                 .build();
     }
@@ -33,7 +34,7 @@ class ItemTest {
         assertThat(item.getId()).isEqualTo("item-id");
         assertThat(item.getName()).isEqualTo("Test Item");
         assertThat(item.getDescription()).isEqualTo("Test Description");
-        assertThat(item.getPrice()).isEqualTo(9.99);
+        assertThat(item.getPrice()).isEqualTo(Money.ofPaise(999));
         assertThat(item.getRestaurant()).isNotNull();
     }
 
@@ -41,11 +42,11 @@ class ItemTest {
     void testItemBuilder() {
         Item builtItem = Item.builder()
                 .name("Built Item")
-                .price(19.99)
+                .price(Money.ofPaise(1999))
                 .build();
 
         assertThat(builtItem.getName()).isEqualTo("Built Item");
-        assertThat(builtItem.getPrice()).isEqualTo(19.99);
+        assertThat(builtItem.getPrice()).isEqualTo(Money.ofPaise(1999));
     }
 
 }
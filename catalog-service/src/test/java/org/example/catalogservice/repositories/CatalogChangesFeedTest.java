@@ -0,0 +1,126 @@
+package org.example.catalogservice.repositories;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.CatalogChangeResponse;
+import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.models.CatalogChange;
+import org.example.catalogservice.services.CatalogChangesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Records changes into the embedded database and reads them back the way a downstream
+ * consumer would, page by page from its last seen sequence number.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CatalogChangesService.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class CatalogChangesFeedTest {
+    private static final String RESTAURANT_ID = "restaurant-id";
+
+    @Autowired
+    private CatalogChangesService catalogChangesService;
+
+    @Autowired
+    private CatalogChangesRepository catalogChangesRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static ItemResponse item(int number) {
+        return new ItemResponse("item-" + number, "item " + number, null, RESTAURANT_ID, Money.ofRupees(100 + number));
+    }
+
+    private Map<?, ?> fetch(long since, int size) {
+        ApiResponse response = catalogChangesService.fetchSince(since, size).getBody();
+        assertThat(response).isNotNull();
+        return response.getData();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<CatalogChangeResponse> changes(Map<?, ?> data) {
+        return (List<CatalogChangeResponse>) data.get("changes");
+    }
+
+    @Test
+    void testChangesAreNumberedConsecutivelyInWriteOrder() {
+        long start = catalogChangesRepository.findLastSequence();
+
+        catalogChangesService.restaurantCreated(RestaurantResponse.builder().id(RESTAURANT_ID).name("restaurant").build());
+        catalogChangesService.itemsAdded(RESTAURANT_ID, List.of(item(1), item(2)));
+
+        List<CatalogChangeResponse> changes = changes(fetch(start, 10));
+        assertThat(changes).extracting(CatalogChangeResponse::getSequence).containsExactly(start + 1, start + 2, start + 3);
+        assertThat(changes).extracting(CatalogChangeResponse::getType).containsExactly(
+                CatalogChange.Type.RESTAURANT_CREATED, CatalogChange.Type.ITEM_ADDED, CatalogChange.Type.ITEM_ADDED);
+        assertThat(changes).extracting(CatalogChangeResponse::getEntityId).containsExactly(RESTAURANT_ID, "item-1", "item-2");
+        assertThat(changes.get(1).getPayload()).contains("\"name\":\"item 1\"");
+        assertThat(catalogChangesRepository.findLastSequence()).isEqualTo(start + 3);
+    }
+
+    @Test
+    void testConsumerCatchesUpPageByPageAndThenSeesNothingNew() {
+        long start = catalogChangesRepository.findLastSequence();
+        List<ItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(item(i));
+        }
+        catalogChangesService.itemsAdded(RESTAURANT_ID, items);
+
+        List<String> seen = new ArrayList<>();
+        long since = start;
+        Map<?, ?> page;
+        do {
+            page = fetch(since, 2);
+            changes(page).forEach(change -> seen.add(change.getEntityId()));
+            since = (Long) page.get("lastSequence");
+        } while ((Boolean) page.get("hasMore"));
+
+        assertThat(seen).containsExactly("item-0", "item-1", "item-2", "item-3", "item-4");
+        assertThat(since).isEqualTo(start + 5);
+
+        Map<?, ?> caughtUp = fetch(since, 2);
+        assertThat(changes(caughtUp)).isEmpty();
+        assertThat(caughtUp.get("lastSequence")).isEqualTo(since);
+        assertThat(caughtUp.get("hasMore")).isEqualTo(false);
+    }
+
+    @Test
+    void testSequenceLockWaitIsTimedPerWrite() {
+        long before = meterRegistry.timer("catalog.changes.sequence.wait").count();
+
+        catalogChangesService.restaurantCreated(RestaurantResponse.builder().id(RESTAURANT_ID).name("restaurant").build());
+        catalogChangesService.itemsAdded(RESTAURANT_ID, List.of(item(1), item(2)));
+
+        assertThat(meterRegistry.timer("catalog.changes.sequence.wait").count()).isEqualTo(before + 2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testChangesAreOnlyRecordedInsideTheWriteTransaction() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> catalogChangesService.itemsAdded(RESTAURANT_ID, List.of(item(1))));
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.catalogservice.repositories;
+
+import org.example.catalogservice.dto.Address;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+class InsertIfAbsentTest {
+    @Autowired
+    private RestaurantsRepository restaurantsRepository;
+
+    @Autowired
+    private ItemsRepository itemsRepository;
+
+    private static Address address() {
+        return address("600001");
+    }
+
+    private static Address address(String zipcode) {
+        return Address.builder()
+                .buildingNumber(2)
+                .street("street")
+                .locality("locality")
+                .city("city")
+                .state("state")
+                .country("country")
+                .zipcode(zipcode)
+                .build();
+    }
+
+    @Test
+    void testSecondRestaurantWithSameNameAndAddressIsNotInserted() {
+        assertThat(restaurantsRepository.insertIfAbsent("first", "restaurant", address())).isEqualTo(1);
+        assertThat(restaurantsRepository.insertIfAbsent("second", "restaurant", address())).isZero();
+        assertThat(restaurantsRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSecondRestaurantWithSameNameAndNoZipcodeIsNotInserted() {
+        assertThat(restaurantsRepository.insertIfAbsent("first", "restaurant", address(null))).isEqualTo(1);
+        assertThat(restaurantsRepository.insertIfAbsent("second", "restaurant", address(null))).isZero();
+        assertThat(restaurantsRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRestaurantWithCollidingIdIsRejected() {
+        restaurantsRepository.insertIfAbsent("first", "restaurant", address());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> restaurantsRepository.insertIfAbsent("first", "other restaurant", address()));
+    }
+
+    @Test
+    void testSecondItemWithSameNameInRestaurantIsNotInserted() {
+        restaurantsRepository.insertIfAbsent("restaurant-id", "restaurant", address());
+
+        assertThat(itemsRepository.insertIfAbsent("first", "item", null, 20000L, "restaurant-id")).isEqualTo(1);
+        assertThat(itemsRepository.insertIfAbsent("second", "item", null, 25000L, "restaurant-id")).isZero();
+        assertThat(itemsRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testItemWithCollidingIdIsRejected() {
+        restaurantsRepository.insertIfAbsent("restaurant-id", "restaurant", address());
+        itemsRepository.insertIfAbsent("first", "item", null, 20000L, "restaurant-id");
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> itemsRepository.insertIfAbsent("first", "other item", null, 20000L, "restaurant-id"));
+    }
+
+    @Test
+    void testItemOfUnknownRestaurantIsRejected() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> itemsRepository.insertIfAbsent("first", "item", null, 20000L, "unknown"));
+    }
+}
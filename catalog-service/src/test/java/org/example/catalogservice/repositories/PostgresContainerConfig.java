@@ -0,0 +1,20 @@
+package org.example.catalogservice.repositories;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * A PostgreSQL database migrated by Flyway, for repository tests whose SQL H2 cannot run,
+ * such as inserts with an {@code ON CONFLICT} target. Tests importing it leave out the
+ * {@code test} profile, which points the datasource at H2.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class PostgresContainerConfig {
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
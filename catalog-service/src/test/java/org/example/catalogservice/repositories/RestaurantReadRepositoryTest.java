@@ -0,0 +1,76 @@
+package org.example.catalogservice.repositories;
+
+import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RestaurantReadRepository.class, PostgresContainerConfig.class})
+class RestaurantReadRepositoryTest {
+    @Autowired
+    private RestaurantsRepository restaurantsRepository;
+
+    @Autowired
+    private RestaurantReadRepository restaurantReadRepository;
+
+    private static Address address(String street, Double latitude, Double longitude) {
+        return Address.builder()
+                .buildingNumber(2)
+                .street(street)
+                .locality("locality")
+                .city("city")
+                .state("state")
+                .country("country")
+                .zipcode("600001")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+
+    @BeforeEach
+    void setup() {
+        restaurantsRepository.insertIfAbsent("a", "first", address("first street", 13.0827, 80.2707));
+        restaurantsRepository.insertIfAbsent("b", "second", address("second street", null, null));
+        restaurantsRepository.insertIfAbsent("c", "third", address("third street", null, null));
+    }
+
+    @Test
+    void testRestaurantIsMappedWithItsAddress() {
+        RestaurantResponse restaurant = restaurantReadRepository.findById("a").orElseThrow();
+
+        assertThat(restaurant.getName()).isEqualTo("first");
+        assertThat(restaurant.getAddress()).isEqualTo(address("first street", 13.0827, 80.2707));
+        assertThat(restaurantReadRepository.findById("b").orElseThrow().getAddress().getLatitude()).isNull();
+    }
+
+    @Test
+    void testUnknownRestaurantIsEmpty() {
+        assertThat(restaurantReadRepository.findById("unknown")).isEmpty();
+    }
+
+    @Test
+    void testPagesFollowIdOrder() {
+        List<RestaurantResponse> first = restaurantReadRepository.findPage(null, 2);
+        List<RestaurantResponse> second = restaurantReadRepository.findPage("b", 2);
+
+        assertThat(first).extracting(RestaurantResponse::getId).containsExactly("a", "b");
+        assertThat(second).extracting(RestaurantResponse::getId).containsExactly("c");
+    }
+
+    @Test
+    void testUnknownIdsAreSkipped() {
+        List<RestaurantResponse> restaurants = restaurantReadRepository.findAllById(List.of("c", "a", "unknown"));
+
+        assertThat(restaurants).extracting(RestaurantResponse::getId).containsExactlyInAnyOrder("a", "c");
+    }
+}
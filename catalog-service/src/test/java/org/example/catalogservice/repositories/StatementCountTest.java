@@ -0,0 +1,102 @@
+package org.example.catalogservice.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.catalogservice.dto.Address;
+import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.models.Restaurant;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class StatementCountTest {
+    private static final String RESTAURANT_ID = "restaurant-id";
+
+    @Autowired
+    private RestaurantsRepository restaurantsRepository;
+
+    @Autowired
+    private ItemsRepository itemsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private static Address address(String street) {
+        return Address.builder()
+                .buildingNumber(2)
+                .street(street)
+                .locality("locality")
+                .city("city")
+                .state("state")
+                .country("country")
+                .zipcode("600001")
+                .build();
+    }
+
+    @BeforeEach
+    void setup() {
+        restaurantsRepository.insertIfAbsent(RESTAURANT_ID, "restaurant", address("street"));
+        for (int i = 0; i < 20; i++) {
+            itemsRepository.insertIfAbsent("item-" + i, "item " + i, "description", 10000L + i, RESTAURANT_ID);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testMenuIsFetchedInASingleStatement() {
+        List<ItemResponse> menu = itemsRepository.findAllByRestaurantId(RESTAURANT_ID);
+
+        assertThat(menu).hasSize(20);
+        assertThat(menu).allMatch(item -> RESTAURANT_ID.equals(item.getRestaurantId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testMenusOfSeveralRestaurantsAreFetchedInASingleStatement() {
+        restaurantsRepository.insertIfAbsent("other-id", "other", address("other street"));
+        itemsRepository.insertIfAbsent("other-item", "item 0", "description", 10000L, "other-id");
+        statistics.clear();
+
+        List<ItemResponse> items = itemsRepository.findAllByRestaurantIdIn(List.of(RESTAURANT_ID, "other-id", "unknown"));
+
+        assertThat(items).hasSize(21);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testItemByNameIsFetchedInASingleStatement() {
+        ItemResponse item = itemsRepository.findByNameAndRestaurantId("item 3", RESTAURANT_ID).orElseThrow();
+
+        assertThat(item.getId()).isEqualTo("item-3");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testRestaurantIsFetchedWithoutLoadingItsItems() {
+        Restaurant restaurant = restaurantsRepository.findById(RESTAURANT_ID).orElseThrow();
+
+        assertThat(restaurant.getName()).isEqualTo("restaurant");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}
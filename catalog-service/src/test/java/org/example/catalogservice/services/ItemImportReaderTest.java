@@ -0,0 +1,75 @@
+package org.example.catalogservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.exceptions.InvalidImportException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemImportReaderTest {
+    private final ItemImportReader itemImportReader = new ItemImportReader(new ObjectMapper());
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReadNdjsonRows() throws IOException {
+        String content = """
+                {"name":"Dosa","price":120}
+
+                {"name":"Idli","description":"Steamed","price":100}
+                not json
+                """;
+
+        List<ItemImportReader.Row> rows = itemImportReader.read(body(content), MediaType.APPLICATION_NDJSON, 10);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).request().getName()).isEqualTo("Dosa");
+        assertThat(rows.get(1).request().getDescription()).isEqualTo("Steamed");
+        assertThat(rows.get(2).number()).isEqualTo(3);
+        assertThat(rows.get(2).error()).startsWith("Malformed row");
+    }
+
+    @Test
+    void testReadCsvRowsWithQuotedFields() throws IOException {
+        String content = """
+                price,name,description
+                150,"Paneer, Butter","Rich ""makhani"" gravy"
+                abc,Naan,
+                200,,Missing name
+                """;
+
+        List<ItemImportReader.Row> rows = itemImportReader.read(body(content), MediaType.valueOf("text/csv"), 10);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).request().getName()).isEqualTo("Paneer, Butter");
+        assertThat(rows.get(0).request().getDescription()).isEqualTo("Rich \"makhani\" gravy");
+        assertThat(rows.get(0).request().getPrice()).isEqualTo(Money.ofRupees(150));
+        assertThat(rows.get(1).error()).startsWith("Malformed row");
+        assertThat(rows.get(2).error()).isEqualTo("Name is required");
+    }
+
+    @Test
+    void testCsvWithoutRequiredColumns_throwsException() {
+        assertThrows(InvalidImportException.class,
+                () -> itemImportReader.read(body("name,description\nDosa,Crisp\n"), MediaType.valueOf("text/csv"), 10));
+    }
+
+    @Test
+    void testImportLargerThanLimit_throwsException() {
+        String content = "{\"name\":\"a\",\"price\":100}\n{\"name\":\"b\",\"price\":100}\n";
+
+        assertThrows(InvalidImportException.class,
+                () -> itemImportReader.read(body(content), MediaType.APPLICATION_NDJSON, 1));
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.catalogservice.services;
+
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.ItemSearchRequest;
+import org.example.catalogservice.dto.ItemSearchResult;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.exceptions.InvalidCursorException;
+import org.example.catalogservice.exceptions.InvalidSearchException;
+import org.example.catalogservice.indexes.ItemNameIndex;
+import org.example.catalogservice.repositories.ItemSearchRepository;
+import org.example.catalogservice.utils.Cursors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.example.catalogservice.constants.Constants.INVALID_PRICE_RANGE;
+import static org.example.catalogservice.constants.Constants.MAX_SEARCH_RESULTS;
+import static org.example.catalogservice.constants.Constants.SEARCH_TEXT_REQUIRED;
+import static org.example.catalogservice.constants.Constants.TYPEAHEAD_PREFIX_REQUIRED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ItemSearchServiceTest {
+    @Mock
+    private ItemSearchRepository itemSearchRepository;
+
+    @Spy
+    private ItemNameIndex itemNameIndex = new ItemNameIndex();
+
+    @InjectMocks
+    private ItemSearchService itemSearchService;
+
+    @BeforeEach
+    void setup() {
+        openMocks(this);
+    }
+
+    private static List<ItemSearchResult> results(int count) {
+        List<ItemSearchResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(ItemSearchResult.builder().id("item-" + i).build());
+        }
+        return results;
+    }
+
+    @Test
+    void testTermsAreRequiredAndTheLastOneIsAPrefix() {
+        assertEquals("chicken & biry:*", ItemSearchService.toTsQuery("  Chicken  biry"));
+    }
+
+    @Test
+    void testTsQueryOperatorsInTextAreDropped() {
+        assertEquals("paneer & tikka:*", ItemSearchService.toTsQuery("paneer | !tikka:*"));
+    }
+
+    @Test
+    void testTextWithoutLettersOrDigits_throwsException() {
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> itemSearchService.search("&|!", null, null, null, null, null, null));
+
+        assertEquals(SEARCH_TEXT_REQUIRED, exception.getMessage());
+        verify(itemSearchRepository, never()).search(any());
+    }
+
+    @Test
+    void testMinimumPriceAboveMaximum_throwsException() {
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> itemSearchService.search("dosa", null, null, Money.ofRupees(300), Money.ofRupees(100), null, null));
+
+        assertEquals(INVALID_PRICE_RANGE, exception.getMessage());
+    }
+
+    @Test
+    void testSearchPassesFiltersAndReturnsNextCursor() {
+        ArgumentCaptor<ItemSearchRequest> captor = ArgumentCaptor.forClass(ItemSearchRequest.class);
+        when(itemSearchRepository.search(captor.capture())).thenReturn(results(11));
+
+        ResponseEntity<ApiResponse> response = itemSearchService.search("biryani", "Chennai", " ", Money.ofRupees(100), null, null, 10);
+
+        ItemSearchRequest request = captor.getValue();
+        assertEquals("biryani:*", request.getTsQuery());
+        assertEquals("Chennai", request.getCity());
+        assertNull(request.getLocality());
+        assertEquals(Money.ofRupees(100), request.getMinPrice());
+        assertEquals(0, request.getOffset());
+        assertEquals(11, request.getLimit());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ApiResponse body = Objects.requireNonNull(response.getBody());
+        assertEquals(10, ((List<?>) body.getData().get("items")).size());
+        assertEquals(Cursors.encode("10"), body.getData().get("nextCursor"));
+    }
+
+    @Test
+    void testLastPageHasNoNextCursor() {
+        ArgumentCaptor<ItemSearchRequest> captor = ArgumentCaptor.forClass(ItemSearchRequest.class);
+        when(itemSearchRepository.search(captor.capture())).thenReturn(results(3));
+
+        ResponseEntity<ApiResponse> response = itemSearchService.search("dosa", null, null, null, null, Cursors.encode("20"), 10);
+
+        assertEquals(20, captor.getValue().getOffset());
+        assertFalse(Objects.requireNonNull(response.getBody()).getData().containsKey("nextCursor"));
+    }
+
+    @Test
+    void testPagingStopsAtTheResultCap() {
+        ArgumentCaptor<ItemSearchRequest> captor = ArgumentCaptor.forClass(ItemSearchRequest.class);
+        when(itemSearchRepository.search(captor.capture())).thenReturn(results(50));
+
+        ResponseEntity<ApiResponse> response = itemSearchService.search("dosa", null, null, null, null,
+                Cursors.encode(String.valueOf(MAX_SEARCH_RESULTS - 5)), 20);
+
+        assertEquals(6, captor.getValue().getLimit());
+        ApiResponse body = Objects.requireNonNull(response.getBody());
+        assertEquals(5, ((List<?>) body.getData().get("items")).size());
+        assertFalse(body.getData().containsKey("nextCursor"));
+    }
+
+    @Test
+    void testCursorOutsideTheResultCap_throwsException() {
+        assertThrows(InvalidCursorException.class, () -> itemSearchService.search("dosa", null, null, null, null,
+                Cursors.encode(String.valueOf(MAX_SEARCH_RESULTS)), null));
+        assertThrows(InvalidCursorException.class, () -> itemSearchService.search("dosa", null, null, null, null,
+                Cursors.encode("abc"), null));
+    }
+
+    @Test
+    void testTypeaheadAcrossTheCatalog() {
+        itemNameIndex.add("r1", "Masala Dosa");
+        itemNameIndex.add("r2", "Masala Dosa");
+        itemNameIndex.add("r2", "Mango Lassi");
+
+        ResponseEntity<ApiResponse> response = itemSearchService.typeahead(" ma", null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Masala Dosa", "Mango Lassi"), Objects.requireNonNull(response.getBody()).getData().get("names"));
+        verify(itemSearchRepository, never()).search(any());
+    }
+
+    @Test
+    void testTypeaheadWithinARestaurant() {
+        itemNameIndex.add("r1", "Masala Dosa");
+        itemNameIndex.add("r2", "Mango Lassi");
+
+        ResponseEntity<ApiResponse> response = itemSearchService.typeahead("ma", "r2", 5);
+
+        assertEquals(List.of("Mango Lassi"), Objects.requireNonNull(response.getBody()).getData().get("names"));
+        verify(itemNameIndex).complete("r2", "ma", 5);
+    }
+
+    @Test
+    void testTypeaheadWithBlankPrefix_throwsException() {
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> itemSearchService.typeahead("  ", null, null));
+
+        assertEquals(TYPEAHEAD_PREFIX_REQUIRED, exception.getMessage());
+    }
+}
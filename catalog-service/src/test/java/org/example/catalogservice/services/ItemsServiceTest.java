@@ -1,29 +1,56 @@
 package org.example.catalogservice.services;
 
-
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.catalogservice.caches.MenuCache;
+import org.example.catalogservice.caches.RequestCoalescer;
+import org.example.catalogservice.caches.ResponseBodyCache;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.example.catalogservice.datasources.RecentWrites;
 import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.ItemImportResult;
+import org.example.catalogservice.dto.ItemImportSummary;
 import org.example.catalogservice.dto.ItemRequest;
+import org.example.catalogservice.dto.ItemResponse;
+import org.example.catalogservice.dto.Money;
+import org.example.catalogservice.exceptions.InvalidBatchException;
 import org.example.catalogservice.exceptions.ItemAlreadyExistsException;
 import org.example.catalogservice.exceptions.ItemNotFoundException;
 import org.example.catalogservice.exceptions.RestaurantNotFoundException;
-import org.example.catalogservice.models.Item;
-import org.example.catalogservice.models.Restaurant;
+import org.example.catalogservice.indexes.ItemNameIndex;
+import org.example.catalogservice.indexes.RestaurantIdFilter;
 import org.example.catalogservice.repositories.ItemsRepository;
 import org.example.catalogservice.repositories.RestaurantsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import static org.example.catalogservice.constants.Constants.FETCHED;
 import static org.example.catalogservice.constants.Constants.ITEM_ADDED;
+import static org.example.catalogservice.constants.Constants.MAX_BATCH_MENUS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -35,6 +62,36 @@ class ItemsServiceTest {
     @Mock
     private RestaurantsRepository restaurantsRepository;
 
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Spy
+    private MenuCache menuCache = new MenuCache(100, Duration.ofMinutes(10));
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+    @Spy
+    private ItemNameIndex itemNameIndex = new ItemNameIndex();
+
+    @Spy
+    private RestaurantIdFilter restaurantIdFilter = new RestaurantIdFilter(1000, 0.01);
+
+    @Spy
+    private RecentWrites recentWrites = new RecentWrites(Duration.ofSeconds(5));
+
+    @Mock
+    private CatalogChangesService catalogChangesService;
+
+    @Spy
+    private ItemImportReader itemImportReader = new ItemImportReader(new ObjectMapper());
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private ItemsService itemsService;
 
@@ -47,137 +104,353 @@ class ItemsServiceTest {
     public void testAddItemsToRestaurantSuccessfully() {
         ItemRequest request = ItemRequest.builder()
                 .name("item")
-                .price(200.0)
+                .price(Money.ofRupees(200))
                 .build();
         String restaurantId = "abc";
-        Restaurant restaurant = mock(Restaurant.class);
 
-        when(restaurantsRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
-        when(itemsRepository.existsByNameAndRestaurant("item", restaurant)).thenReturn(false);
+        when(itemsRepository.insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId))).thenReturn(1);
         ResponseEntity<ApiResponse> response = itemsService.add(restaurantId, request);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(ITEM_ADDED, Objects.requireNonNull(response.getBody()).getMessage());
 
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, times(1)).existsByNameAndRestaurant("item", restaurant);
-        verify(itemsRepository, times(1)).save(any(Item.class));
+        verify(itemsRepository, times(1)).insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId));
+        verify(restaurantsRepository, never()).findById(restaurantId);
+        verify(catalogChangesService, times(1)).itemsAdded(eq(restaurantId),
+                argThat(items -> items.size() == 1 && items.get(0).getName().equals("item")));
+        assertEquals(List.of("item"), itemNameIndex.complete(restaurantId, "it", 10));
     }
 
     @Test
     public void testExceptionRestaurantNotFoundWhileAddingTheItem() {
         ItemRequest request = ItemRequest.builder()
                 .name("item")
-                .price(200.0)
+                .price(Money.ofRupees(200))
                 .build();
         String restaurantId = "abc";
-        Restaurant restaurant = mock(Restaurant.class);
 
-        when(restaurantsRepository.findById(restaurantId)).thenThrow(new RestaurantNotFoundException("Restaurant not found"));
+        when(itemsRepository.insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId)))
+                .thenThrow(new DataIntegrityViolationException("food_items_restaurant_id_fkey",
+                        new SQLException("insert or update on table \"food_items\" violates foreign key constraint", "23503")));
 
         assertThrows(RestaurantNotFoundException.class, () -> itemsService.add(restaurantId, request));
 
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, never()).existsByNameAndRestaurant("item", restaurant);
-        verify(itemsRepository, never()).save(any(Item.class));
+        verify(menuCache, never()).invalidate(restaurantId);
+    }
+
+    @Test
+    public void testOtherIntegrityViolationIsNotTakenForAnUnknownRestaurant() {
+        ItemRequest request = ItemRequest.builder()
+                .name("item")
+                .price(Money.ofRupees(200))
+                .build();
+        String restaurantId = "abc";
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("food_items_name_not_null",
+                new SQLException("null value in column \"name\" violates not-null constraint", "23502"));
+
+        when(itemsRepository.insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId)))
+                .thenThrow(notNull);
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> itemsService.add(restaurantId, request));
+
+        assertSame(notNull, thrown);
+        verify(menuCache, never()).invalidate(restaurantId);
     }
 
     @Test
     public void testExceptionitemAlreadyPresentInRestaurant() {
         ItemRequest request = ItemRequest.builder()
                 .name("item")
-                .price(200.0)
+                .price(Money.ofRupees(200))
                 .build();
         String restaurantId = "abc";
-        Restaurant restaurant = mock(Restaurant.class);
 
-        when(restaurantsRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
-        when(itemsRepository.existsByNameAndRestaurant("item", restaurant)).thenReturn(true);
+        when(itemsRepository.insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId))).thenReturn(0);
 
         assertThrows(ItemAlreadyExistsException.class, () -> itemsService.add(restaurantId, request));
 
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, times(1)).existsByNameAndRestaurant("item", restaurant);
-        verify(itemsRepository, never()).save(any(Item.class));
+        verify(itemsRepository, times(1)).insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId));
+        verify(menuCache, never()).invalidate(restaurantId);
+        verify(catalogChangesService, never()).itemsAdded(anyString(), anyList());
+    }
+
+    @Test
+    public void testBulkAddItemsReportsEachRow() throws IOException {
+        String restaurantId = "abc";
+        InputStream body = new ByteArrayInputStream("""
+                {"name":"Dosa","price":120}
+                {"name":"Idli","price":100}
+                {"name":"Dosa","price":130}
+                {"name":"Vada","price":20}
+                {"name":"Upma","price":110}
+                """.getBytes(StandardCharsets.UTF_8));
+
+        when(restaurantsRepository.existsById(restaurantId)).thenReturn(true);
+        when(itemsRepository.findNamesByRestaurantIdAndNameIn(eq(restaurantId), anyCollection())).thenReturn(List.of("Idli"));
+        ResponseEntity<ApiResponse> response = itemsService.bulkAdd(restaurantId, body, MediaType.APPLICATION_NDJSON);
+
+        Map<?, ?> data = Objects.requireNonNull(response.getBody()).getData();
+        List<?> results = (List<?>) data.get("results");
+        ItemImportSummary summary = (ItemImportSummary) data.get("summary");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, results.size());
+        assertEquals(ItemImportResult.Status.CREATED, ((ItemImportResult) results.get(0)).getStatus());
+        assertEquals(ItemImportResult.Status.DUPLICATE, ((ItemImportResult) results.get(1)).getStatus());
+        assertEquals(ItemImportResult.Status.DUPLICATE, ((ItemImportResult) results.get(2)).getStatus());
+        assertEquals(ItemImportResult.Status.INVALID, ((ItemImportResult) results.get(3)).getStatus());
+        assertEquals(2, summary.getCreated());
+        assertEquals(2, summary.getDuplicates());
+        assertEquals(1, summary.getInvalid());
+
+        verify(itemsRepository, times(1)).findNamesByRestaurantIdAndNameIn(eq(restaurantId), anyCollection());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<ItemResponse> items) -> items.size() == 2),
+                anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(menuCache, times(1)).invalidate(restaurantId);
+        verify(itemNameIndex, times(2)).add(eq(restaurantId), anyString());
+    }
+
+    @Test
+    public void testRestaurantNotFoundWhileBulkAddingItems_throwsException() {
+        String restaurantId = "abc";
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+
+        when(restaurantsRepository.existsById(restaurantId)).thenReturn(false);
+
+        assertThrows(RestaurantNotFoundException.class,
+                () -> itemsService.bulkAdd(restaurantId, body, MediaType.APPLICATION_NDJSON));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
     }
 
     @Test
     public void testFetchAllItemsByRestaurantSuccessfully() {
         String restaurantId = "abc";
-        Restaurant restaurant = mock(Restaurant.class);
-        Item firstItem = mock(Item.class);
-        Item secondItem = mock(Item.class);
-        List<Item> items = List.of(firstItem, secondItem);
-
-        when(restaurantsRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
-        when(itemsRepository.findAllByRestaurant(restaurant)).thenReturn(items);
-        when(firstItem.getRestaurant()).thenReturn(restaurant);
-        when(secondItem.getRestaurant()).thenReturn(restaurant);
+        List<ItemResponse> items = List.of(
+                ItemResponse.builder().id("first").restaurantId(restaurantId).build(),
+                ItemResponse.builder().id("second").restaurantId(restaurantId).build());
+
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenReturn(items);
         ResponseEntity<ApiResponse> response = itemsService.fetchAll(restaurantId);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FETCHED, Objects.requireNonNull(response.getBody()).getMessage());
+        assertEquals(items, response.getBody().getData().get("items"));
+
+        verify(itemsRepository, times(1)).findAllByRestaurantId(restaurantId);
+        verify(restaurantsRepository, never()).existsById(restaurantId);
+    }
+
+    @Test
+    public void testFetchEmptyMenuOfExistingRestaurantSuccessfully() {
+        String restaurantId = "abc";
+
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenReturn(List.of());
+        when(restaurantsRepository.existsById(restaurantId)).thenReturn(true);
+        ResponseEntity<ApiResponse> response = itemsService.fetchAll(restaurantId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(), Objects.requireNonNull(response.getBody()).getData().get("items"));
+        verify(restaurantsRepository, times(1)).existsById(restaurantId);
+    }
+
+    @Test
+    public void testFetchAllItemsIsServedFromCacheOnRepeatedReads() {
+        String restaurantId = "abc";
 
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, times(1)).findAllByRestaurant(restaurant);
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenReturn(List.of(ItemResponse.builder().id("id").build()));
+        itemsService.fetchAll(restaurantId);
+        itemsService.fetchAll(restaurantId);
+
+        verify(itemsRepository, times(1)).findAllByRestaurantId(restaurantId);
+        assertEquals(1, menuCache.stats().hitCount());
+        assertEquals(1, menuCache.stats().missCount());
+    }
+
+    @Test
+    public void testUnknownRestaurantIsRejectedWithoutTheDatabase() {
+        restaurantIdFilter.add("abc");
+        restaurantIdFilter.markLoaded();
+        restaurantIdFilter.markFollowing();
+
+        assertThrows(RestaurantNotFoundException.class, () -> itemsService.fetchAll("unknown"));
+        assertThrows(RestaurantNotFoundException.class, () -> itemsService.fetchByName("unknown", "item"));
+
+        verify(itemsRepository, never()).findAllByRestaurantId(anyString());
+        verify(itemsRepository, never()).findByNameAndRestaurantId(anyString(), anyString());
+        verify(restaurantsRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    public void testRestaurantAnItemWasAddedToIsNoLongerRejected() {
+        String restaurantId = "created-elsewhere";
+        ItemRequest request = ItemRequest.builder()
+                .name("item")
+                .price(Money.ofRupees(200))
+                .build();
+        restaurantIdFilter.markLoaded();
+        restaurantIdFilter.markFollowing();
+
+        when(itemsRepository.insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId))).thenReturn(1);
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenReturn(List.of(ItemResponse.builder().id("id").build()));
+        itemsService.add(restaurantId, request);
+
+        assertEquals(HttpStatus.OK, itemsService.fetchAll(restaurantId).getStatusCode());
+    }
+
+    @Test
+    public void testReadPinnedToThePrimaryIsNotRejected() {
+        String restaurantId = "created-elsewhere";
+        restaurantIdFilter.markLoaded();
+        restaurantIdFilter.markFollowing();
+
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenReturn(List.of(ItemResponse.builder().id("id").build()));
+
+        assertEquals(HttpStatus.OK, DataSourceRouting.onPrimary(() -> itemsService.fetchAll(restaurantId)).getStatusCode());
+        verify(itemsRepository, times(1)).findAllByRestaurantId(restaurantId);
+    }
+
+    @Test
+    public void testAddingAnItemInvalidatesTheCachedMenu() {
+        String restaurantId = "abc";
+        ItemRequest request = ItemRequest.builder()
+                .name("item")
+                .price(Money.ofRupees(200))
+                .build();
+
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenReturn(List.of(ItemResponse.builder().id("id").build()));
+        when(itemsRepository.insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId))).thenReturn(1);
+        itemsService.fetchAll(restaurantId);
+        itemsService.add(restaurantId, request);
+        itemsService.fetchAll(restaurantId);
+
+        verify(menuCache, times(1)).invalidate(restaurantId);
+        verify(responseBodyCache, times(1)).invalidate(restaurantId);
+        verify(itemsRepository, times(2)).findAllByRestaurantId(restaurantId);
+    }
+
+    @Test
+    public void testMenuWrittenRecentlyIsLoadedFromThePrimary() {
+        String restaurantId = "abc";
+        List<Boolean> pinned = new ArrayList<>();
+        ItemRequest request = ItemRequest.builder()
+                .name("item")
+                .price(Money.ofRupees(200))
+                .build();
+
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenAnswer(invocation -> {
+            pinned.add(DataSourceRouting.isPinnedToPrimary());
+            return List.of(ItemResponse.builder().id("id").build());
+        });
+        when(itemsRepository.insertIfAbsent(anyString(), eq("item"), isNull(), eq(20000L), eq(restaurantId))).thenReturn(1);
+        itemsService.fetchAll(restaurantId);
+        itemsService.add(restaurantId, request);
+        itemsService.fetchAll(restaurantId);
+
+        assertEquals(List.of(false, true), pinned);
+        assertEquals(false, DataSourceRouting.isPinnedToPrimary());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFetchMenusGroupsOneQueryAndReportsMissingRestaurants() {
+        List<ItemResponse> items = List.of(
+                ItemResponse.builder().id("first").restaurantId("a").build(),
+                ItemResponse.builder().id("second").restaurantId("c").build(),
+                ItemResponse.builder().id("third").restaurantId("a").build());
+
+        when(itemsRepository.findAllByRestaurantIdIn(anyCollection())).thenReturn(items);
+        when(restaurantsRepository.findIdsByIdIn(List.of("b", "unknown"))).thenReturn(List.of("b"));
+        ResponseEntity<ApiResponse> response = itemsService.fetchMenus(List.of("c", "a", "b", "unknown", "a"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, List<ItemResponse>> menus = (Map<String, List<ItemResponse>>) Objects.requireNonNull(response.getBody())
+                .getData().get("menus");
+        assertEquals(List.of("c", "a", "b"), List.copyOf(menus.keySet()));
+        assertEquals(List.of("first", "third"), menus.get("a").stream().map(ItemResponse::getId).toList());
+        assertEquals(List.of(), menus.get("b"));
+        assertEquals(List.of("unknown"), response.getBody().getData().get("missing"));
+
+        verify(itemsRepository, times(1)).findAllByRestaurantIdIn(anyCollection());
+        verify(itemsRepository, never()).findAllByRestaurantId(anyString());
+        verify(restaurantsRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    public void testFetchMenusOnlyLoadsMenusThatAreNotCached() {
+        when(itemsRepository.findAllByRestaurantId("a")).thenReturn(List.of(ItemResponse.builder().id("first").build()));
+        when(itemsRepository.findAllByRestaurantIdIn(anyCollection()))
+                .thenReturn(List.of(ItemResponse.builder().id("second").restaurantId("b").build()));
+        itemsService.fetchAll("a");
+
+        itemsService.fetchMenus(List.of("a", "b"));
+        itemsService.fetchMenus(List.of("a", "b"));
+
+        verify(itemsRepository, times(1)).findAllByRestaurantIdIn(anyCollection());
+    }
+
+    @Test
+    public void testFetchMenusWithoutIdsOrWithTooMany_throwsException() {
+        assertThrows(InvalidBatchException.class, () -> itemsService.fetchMenus(List.of(" ")));
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= MAX_BATCH_MENUS; i++) {
+            ids.add("r-" + i);
+        }
+        assertThrows(InvalidBatchException.class, () -> itemsService.fetchMenus(ids));
+        verify(itemsRepository, never()).findAllByRestaurantIdIn(anyCollection());
     }
 
     @Test
     public void testRestaurantNotFoundWhileFetchingAllItems_throwsException() {
         String restaurantId = "abc";
 
-        when(restaurantsRepository.findById(restaurantId)).thenThrow(new RestaurantNotFoundException("Restaurant not found"));
+        when(itemsRepository.findAllByRestaurantId(restaurantId)).thenReturn(List.of());
+        when(restaurantsRepository.existsById(restaurantId)).thenReturn(false);
 
         assertThrows(RestaurantNotFoundException.class, () -> itemsService.fetchAll(restaurantId));
 
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, never()).findAllByRestaurant(any(Restaurant.class));
+        verify(restaurantsRepository, times(1)).existsById(restaurantId);
     }
 
     @Test
     public void testFetchItemByNameFromARestaurantSuccessfully() {
         String restaurantId = "abc";
         String itemName = "def";
-        Restaurant restaurant = mock(Restaurant.class);
-        Item item = mock(Item.class);
+        ItemResponse item = ItemResponse.builder().id("id").name(itemName).restaurantId(restaurantId).build();
 
-        when(restaurantsRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
-        when(itemsRepository.findByNameAndRestaurant(itemName, restaurant)).thenReturn(Optional.of(item));
-        when(item.getRestaurant()).thenReturn(restaurant);
+        when(itemsRepository.findByNameAndRestaurantId(itemName, restaurantId)).thenReturn(Optional.of(item));
         ResponseEntity<ApiResponse> response = itemsService.fetchByName(restaurantId, itemName);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FETCHED, Objects.requireNonNull(response.getBody()).getMessage());
 
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, times(1)).findByNameAndRestaurant(itemName, restaurant);
+        verify(itemsRepository, times(1)).findByNameAndRestaurantId(itemName, restaurantId);
+        verify(restaurantsRepository, never()).existsById(restaurantId);
     }
 
     @Test
     public void testCannotFindRestaurantWhileFetchingItem_throwsError() {
         String restaurantId = "abc";
         String itemName = "def";
-        Restaurant restaurant = mock(Restaurant.class);
 
-        when(restaurantsRepository.findById(restaurantId)).thenThrow(new RestaurantNotFoundException("Restaurant not found"));
+        when(itemsRepository.findByNameAndRestaurantId(itemName, restaurantId)).thenReturn(Optional.empty());
+        when(restaurantsRepository.existsById(restaurantId)).thenReturn(false);
 
         assertThrows(RestaurantNotFoundException.class, () -> itemsService.fetchByName(restaurantId, itemName));
 
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, never()).findByNameAndRestaurant(itemName, restaurant);
+        verify(restaurantsRepository, times(1)).existsById(restaurantId);
     }
 
     @Test
     void testCannotFindItemInRestaurant_throwsError() {
         String restaurantId = "abc";
         String itemName = "def";
-        Restaurant restaurant = mock(Restaurant.class);
 
-        when(restaurantsRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
-        when(itemsRepository.findByNameAndRestaurant(itemName, restaurant)).thenThrow(new ItemNotFoundException("Item not found"));
+        when(itemsRepository.findByNameAndRestaurantId(itemName, restaurantId)).thenReturn(Optional.empty());
+        when(restaurantsRepository.existsById(restaurantId)).thenReturn(true);
 
         assertThrows(ItemNotFoundException.class, () -> itemsService.fetchByName(restaurantId, itemName));
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
-        verify(itemsRepository, times(1)).findByNameAndRestaurant(itemName, restaurant);
+        verify(itemsRepository, times(1)).findByNameAndRestaurantId(itemName, restaurantId);
+        verify(restaurantsRepository, times(1)).existsById(restaurantId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package org.example.catalogservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.catalogservice.caches.ResponseBodyCache;
+import org.example.catalogservice.datasources.DataSourceRouting;
+import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.repositories.RestaurantReadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.example.catalogservice.constants.Constants.MAX_STREAM_SIZE;
+import static org.example.catalogservice.constants.Constants.STREAM_PAGE_SIZE;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ReactiveCatalogServiceTest {
+    @Mock
+    private RestaurantReadRepository restaurantReadRepository;
+
+    @Mock
+    private RestaurantsService restaurantsService;
+
+    @Mock
+    private ItemsService itemsService;
+
+    @Spy
+    private ResponseBodyCache responseBodyCache = new ResponseBodyCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+            DataSize.ofMegabytes(1), Duration.ofMinutes(10), 10);
+
+    @InjectMocks
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @BeforeEach
+    void setup() {
+        openMocks(this);
+    }
+
+    private static List<RestaurantResponse> restaurants(int from, int count) {
+        List<RestaurantResponse> restaurants = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            restaurants.add(RestaurantResponse.builder().id(String.format("r-%04d", i)).name("restaurant").build());
+        }
+        return restaurants;
+    }
+
+    private static ResponseEntity<ApiResponse> menu() {
+        return ResponseEntity.ok(ApiResponse.builder().message(FETCHED).status(HttpStatus.OK).build());
+    }
+
+    @Test
+    void testRestaurantsAreStreamedPageByPage() {
+        when(restaurantReadRepository.findPage(null, STREAM_PAGE_SIZE)).thenReturn(restaurants(0, STREAM_PAGE_SIZE));
+        when(restaurantReadRepository.findPage(String.format("r-%04d", STREAM_PAGE_SIZE - 1), STREAM_PAGE_SIZE))
+                .thenReturn(restaurants(STREAM_PAGE_SIZE, 3));
+
+        StepVerifier.create(reactiveCatalogService.fetchAll(null, null))
+                .expectNextCount(STREAM_PAGE_SIZE + 3)
+                .verifyComplete();
+
+        verify(restaurantReadRepository, times(1)).findPage(null, STREAM_PAGE_SIZE);
+        verify(restaurantReadRepository, times(1)).findPage(anyString(), anyInt());
+    }
+
+    @Test
+    void testStreamEndsAtTheRequestedSize() {
+        when(restaurantReadRepository.findPage("r-0100", STREAM_PAGE_SIZE)).thenReturn(restaurants(101, STREAM_PAGE_SIZE));
+        when(restaurantReadRepository.findPage(String.format("r-%04d", 100 + STREAM_PAGE_SIZE), 5))
+                .thenReturn(restaurants(101 + STREAM_PAGE_SIZE, 5));
+
+        StepVerifier.create(reactiveCatalogService.fetchAll("r-0100", STREAM_PAGE_SIZE + 5))
+                .expectNextCount(STREAM_PAGE_SIZE + 5)
+                .verifyComplete();
+
+        verify(restaurantReadRepository, times(2)).findPage(anyString(), anyInt());
+    }
+
+    @Test
+    void testStreamSizeIsCapped() {
+        when(restaurantReadRepository.findPage(null, STREAM_PAGE_SIZE)).thenReturn(restaurants(0, STREAM_PAGE_SIZE));
+        when(restaurantReadRepository.findPage(anyString(), anyInt()))
+                .thenAnswer(invocation -> restaurants(0, invocation.getArgument(1, Integer.class)));
+
+        StepVerifier.create(reactiveCatalogService.fetchAll(null, Integer.MAX_VALUE))
+                .expectNextCount(MAX_STREAM_SIZE)
+                .verifyComplete();
+    }
+
+    @Test
+    void testNextPageIsNotReadUntilTheSubscriberAsksForIt() {
+        when(restaurantReadRepository.findPage(null, STREAM_PAGE_SIZE)).thenReturn(restaurants(0, STREAM_PAGE_SIZE));
+
+        StepVerifier.create(reactiveCatalogService.fetchAll(null, null), 1)
+                .expectNextMatches(restaurant -> restaurant.getId().equals("r-0000"))
+                .thenCancel()
+                .verify();
+
+        verify(restaurantReadRepository, never()).findPage(anyString(), anyInt());
+    }
+
+    @Test
+    void testCachedMenuBodyIsServedWithoutTheServices() {
+        responseBodyCache.serve("abc", ResponseBodyCache.MENU, new HttpHeaders(), ReactiveCatalogServiceTest::menu);
+
+        StepVerifier.create(reactiveCatalogService.fetchMenu("abc", new HttpHeaders()))
+                .expectNextMatches(response -> response.getBody() instanceof byte[])
+                .verifyComplete();
+
+        verify(itemsService, never()).fetchAllIfCached("abc");
+        verify(itemsService, never()).fetchAll("abc");
+    }
+
+    @Test
+    void testCachedMenuIsServedWithoutTheBlockingPath() {
+        when(itemsService.fetchAllIfCached("abc")).thenReturn(Optional.of(menu()));
+
+        StepVerifier.create(reactiveCatalogService.fetchMenu("abc", new HttpHeaders()))
+                .expectNextMatches(response -> response.getStatusCode().is2xxSuccessful())
+                .verifyComplete();
+
+        verify(itemsService, never()).fetchAll("abc");
+    }
+
+    @Test
+    void testUncachedMenuIsLoadedOnceAndItsBodyCached() {
+        when(itemsService.fetchAllIfCached("abc")).thenReturn(Optional.empty());
+        when(itemsService.fetchAll("abc")).thenReturn(menu());
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(reactiveCatalogService.fetchMenu("abc", new HttpHeaders()))
+                    .expectNextMatches(response -> response.getBody() instanceof byte[])
+                    .verifyComplete();
+        }
+
+        verify(itemsService, times(1)).fetchAll("abc");
+    }
+
+    @Test
+    void testPinToThePrimaryIsCarriedToTheReads() {
+        List<Boolean> pinned = new CopyOnWriteArrayList<>();
+        when(restaurantsService.fetchById("abc")).thenAnswer(invocation -> {
+            pinned.add(DataSourceRouting.isPinnedToPrimary());
+            return new ResponseEntity<>(HttpStatus.OK);
+        });
+        when(itemsService.fetchAllIfCached("abc")).thenReturn(Optional.empty());
+        when(itemsService.fetchAll("abc")).thenAnswer(invocation -> {
+            pinned.add(DataSourceRouting.isPinnedToPrimary());
+            return menu();
+        });
+        when(restaurantReadRepository.findPage(null, STREAM_PAGE_SIZE)).thenAnswer(invocation -> {
+            pinned.add(DataSourceRouting.isPinnedToPrimary());
+            return restaurants(0, 1);
+        });
+
+        // Assembled on the pinned request thread, subscribed to after it has unpinned.
+        Mono<ResponseEntity<ApiResponse>> restaurant;
+        Mono<ResponseEntity<?>> menu;
+        Flux<RestaurantResponse> restaurants;
+        try (DataSourceRouting.Pin ignored = DataSourceRouting.pinToPrimary()) {
+            restaurant = reactiveCatalogService.fetchById("abc");
+            menu = reactiveCatalogService.fetchMenu("abc", new HttpHeaders());
+            restaurants = reactiveCatalogService.fetchAll(null, null);
+        }
+        StepVerifier.create(restaurant).expectNextCount(1).verifyComplete();
+        StepVerifier.create(menu).expectNextCount(1).verifyComplete();
+        StepVerifier.create(restaurants).expectNextCount(1).verifyComplete();
+
+        assertThat(pinned).containsExactly(true, true, true);
+        assertThat(DataSourceRouting.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void testUnpinnedRequestsReadWithoutAPin() {
+        List<Boolean> pinned = new CopyOnWriteArrayList<>();
+        when(restaurantsService.fetchById("abc")).thenAnswer(invocation -> {
+            pinned.add(DataSourceRouting.isPinnedToPrimary());
+            return new ResponseEntity<>(HttpStatus.OK);
+        });
+
+        StepVerifier.create(reactiveCatalogService.fetchById("abc")).expectNextCount(1).verifyComplete();
+
+        assertThat(pinned).containsExactly(false);
+    }
+
+    @Test
+    void testRestaurantIsFetchedById() {
+        ResponseEntity<ApiResponse> response = new ResponseEntity<>(HttpStatus.OK);
+        when(restaurantsService.fetchById("abc")).thenReturn(response);
+
+        StepVerifier.create(reactiveCatalogService.fetchById("abc"))
+                .expectNext(response)
+                .verifyComplete();
+    }
+}
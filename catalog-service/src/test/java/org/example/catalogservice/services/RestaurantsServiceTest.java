@@ -1,32 +1,60 @@
 package org.example.catalogservice.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.catalogservice.caches.RequestCoalescer;
+import org.example.catalogservice.caches.ResponseBodyCache;
 import org.example.catalogservice.dto.Address;
 import org.example.catalogservice.dto.ApiResponse;
+import org.example.catalogservice.dto.NearbyRestaurant;
 import org.example.catalogservice.dto.RestaurantRequest;
+import org.example.catalogservice.dto.RestaurantResponse;
+import org.example.catalogservice.exceptions.InvalidCursorException;
+import org.example.catalogservice.exceptions.InvalidLocationException;
 import org.example.catalogservice.exceptions.RestaurantAlreadyExistsException;
 import org.example.catalogservice.exceptions.RestaurantNotFoundException;
-import org.example.catalogservice.models.Restaurant;
+import org.example.catalogservice.indexes.RestaurantGeoIndex;
+import org.example.catalogservice.indexes.RestaurantIdFilter;
+import org.example.catalogservice.repositories.RestaurantReadRepository;
 import org.example.catalogservice.repositories.RestaurantsRepository;
+import org.example.catalogservice.utils.Cursors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 
+import static org.example.catalogservice.constants.Constants.DEFAULT_PAGE_SIZE;
 import static org.example.catalogservice.constants.Constants.FETCHED;
+import static org.example.catalogservice.constants.Constants.INVALID_COORDINATES;
+import static org.example.catalogservice.constants.Constants.MAX_PAGE_SIZE;
 import static org.example.catalogservice.constants.Constants.RESTAURANT_CREATED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -38,6 +66,30 @@ class RestaurantsServiceTest {
     @Mock
     private RestaurantsRepository restaurantsRepository;
 
+    @Mock
+    private RestaurantReadRepository restaurantReadRepository;
+
+    @Mock
+    private CatalogChangesService catalogChangesService;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Spy
+    private RestaurantGeoIndex restaurantGeoIndex = new RestaurantGeoIndex();
+
+    @Spy
+    private RestaurantIdFilter restaurantIdFilter = new RestaurantIdFilter(1000, 0.01);
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private RestaurantsService restaurantsService;
 
@@ -52,16 +104,16 @@ class RestaurantsServiceTest {
                 .name("restaurant")
                 .address(mock(Address.class))
                 .build();
-        Restaurant restaurant = mock(Restaurant.class);
 
-        when(restaurantsRepository.existsByNameAndAddress(request.getName(), request.getAddress())).thenReturn(false);
-        when(restaurantsRepository.save(any(Restaurant.class))).thenReturn(restaurant);
+        when(restaurantsRepository.insertIfAbsent(anyString(), eq(request.getName()), eq(request.getAddress()))).thenReturn(1);
         ResponseEntity<ApiResponse> response = restaurantsService.create(request);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(RESTAURANT_CREATED, Objects.requireNonNull(response.getBody()).getMessage());
 
-        verify(restaurantsRepository, times(1)).save(any(Restaurant.class));
+        verify(restaurantsRepository, times(1)).insertIfAbsent(anyString(), eq(request.getName()), eq(request.getAddress()));
+        verify(catalogChangesService, times(1)).restaurantCreated(argThat(restaurant -> restaurant.getName().equals("restaurant")));
+        verify(responseBodyCache, times(1)).invalidateListings();
     }
 
     @Test
@@ -71,49 +123,240 @@ class RestaurantsServiceTest {
                 .address(mock(Address.class))
                 .build();
 
-        when(restaurantsRepository.existsByNameAndAddress(request.getName(), request.getAddress())).thenReturn(true);
+        when(restaurantsRepository.insertIfAbsent(anyString(), eq(request.getName()), eq(request.getAddress()))).thenReturn(0);
 
         assertThrows(RestaurantAlreadyExistsException.class, () -> restaurantsService.create(request));
 
-        verify(restaurantsRepository, never()).save(any(Restaurant.class));
+        verify(restaurantsRepository, times(1)).insertIfAbsent(anyString(), eq(request.getName()), eq(request.getAddress()));
+        verify(catalogChangesService, never()).restaurantCreated(any());
+        verify(responseBodyCache, never()).invalidateListings();
     }
 
     @Test
     public void testFetchAllRestaurants() {
-        Restaurant firstRestaurant = mock(Restaurant.class);
-        Restaurant secondRestaurant = mock(Restaurant.class);
-        Restaurant thirdRestaurant = mock(Restaurant.class);
-        List<Restaurant> restaurants = List.of(firstRestaurant, secondRestaurant, thirdRestaurant);
+        RestaurantResponse firstRestaurant = RestaurantResponse.builder().id("a").build();
+        RestaurantResponse secondRestaurant = RestaurantResponse.builder().id("b").build();
+        RestaurantResponse thirdRestaurant = RestaurantResponse.builder().id("c").build();
+        List<RestaurantResponse> restaurants = List.of(firstRestaurant, secondRestaurant, thirdRestaurant);
 
-        when(restaurantsRepository.findAll()).thenReturn(restaurants);
-        ResponseEntity<ApiResponse> response = restaurantsService.fetchAll();
+        when(restaurantReadRepository.findPage(null, DEFAULT_PAGE_SIZE + 1)).thenReturn(restaurants);
+        ResponseEntity<ApiResponse> response = restaurantsService.fetchAll(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FETCHED, Objects.requireNonNull(response.getBody()).getMessage());
+        assertEquals(restaurants, response.getBody().getData().get("restaurants"));
+        assertFalse(response.getBody().getData().containsKey("nextCursor"));
 
-        verify(restaurantsRepository, times(1)).findAll();
+        verify(restaurantReadRepository, times(1)).findPage(null, DEFAULT_PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void testFetchRestaurantsPageReturnsCursorOfLastRestaurant() {
+        RestaurantResponse firstRestaurant = RestaurantResponse.builder().id("b").build();
+        RestaurantResponse secondRestaurant = RestaurantResponse.builder().id("c").build();
+        RestaurantResponse thirdRestaurant = RestaurantResponse.builder().id("d").build();
+
+        when(restaurantReadRepository.findPage("a", 3))
+                .thenReturn(List.of(firstRestaurant, secondRestaurant, thirdRestaurant));
+        ResponseEntity<ApiResponse> response = restaurantsService.fetchAll(Cursors.encode("a"), 2);
+
+        Map<?, ?> data = Objects.requireNonNull(response.getBody()).getData();
+        assertEquals(2, ((List<?>) data.get("restaurants")).size());
+        assertEquals(Cursors.encode("c"), data.get("nextCursor"));
+    }
+
+    @Test
+    public void testFetchRestaurantsPageSizeIsCapped() {
+        when(restaurantReadRepository.findPage(null, MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        restaurantsService.fetchAll(null, MAX_PAGE_SIZE * 10);
+
+        verify(restaurantReadRepository, times(1)).findPage(null, MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void testMalformedCursorWhileFetchingRestaurants_throwsException() {
+        assertThrows(InvalidCursorException.class, () -> restaurantsService.fetchAll("not a cursor!", null));
+
+        verify(restaurantReadRepository, never()).findPage(any(), anyInt());
     }
 
     @Test
     public void testFetchRestaurantByIdSuccessfully() {
-        Restaurant restaurant = mock(Restaurant.class);
         String restaurantId = "id";
+        RestaurantResponse restaurant = RestaurantResponse.builder().id(restaurantId).build();
 
-        when(restaurantsRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
+        when(restaurantReadRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
         ResponseEntity<ApiResponse> response = restaurantsService.fetchById(restaurantId);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FETCHED, Objects.requireNonNull(response.getBody()).getMessage());
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
+        assertEquals(restaurant, response.getBody().getData().get("restaurant"));
+        verify(restaurantReadRepository, times(1)).findById(restaurantId);
+        verify(restaurantsRepository, never()).findById(restaurantId);
     }
 
     @Test
     public void testRestaurantNotFoundWhileFetchingById_throwsException() {
         String restaurantId = "id";
 
-        when(restaurantsRepository.findById(restaurantId)).thenThrow(new RestaurantNotFoundException("Restaurant not found"));
+        when(restaurantReadRepository.findById(restaurantId)).thenReturn(Optional.empty());
 
         assertThrows(RestaurantNotFoundException.class, () -> restaurantsService.fetchById(restaurantId));
-        verify(restaurantsRepository, times(1)).findById(restaurantId);
+        verify(restaurantReadRepository, times(1)).findById(restaurantId);
+    }
+
+    private static Address address(double latitude, double longitude) {
+        return Address.builder()
+                .buildingNumber(1)
+                .street("street")
+                .locality("locality")
+                .city("city")
+                .state("state")
+                .country("country")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+
+    @Test
+    public void testRestaurantWithCoordinatesIsAddedToTheGeoIndex() {
+        RestaurantRequest request = RestaurantRequest.builder()
+                .name("restaurant")
+                .address(address(13.0827, 80.2707))
+                .build();
+
+        when(restaurantsRepository.insertIfAbsent(anyString(), eq(request.getName()), eq(request.getAddress()))).thenReturn(1);
+        restaurantsService.create(request);
+
+        verify(restaurantGeoIndex, times(1)).add(anyString(), eq(13.0827), eq(80.2707));
+        assertEquals(1, restaurantGeoIndex.size());
+    }
+
+    @Test
+    public void testUnknownRestaurantIsRejectedWithoutTheDatabase() {
+        restaurantIdFilter.markLoaded();
+        restaurantIdFilter.markFollowing();
+
+        assertThrows(RestaurantNotFoundException.class, () -> restaurantsService.fetchById("unknown"));
+        verify(restaurantReadRepository, never()).findById(anyString());
+    }
+
+    @Test
+    public void testCreatedRestaurantIsAddedToTheIdFilter() {
+        RestaurantRequest request = RestaurantRequest.builder()
+                .name("restaurant")
+                .address(mock(Address.class))
+                .build();
+        restaurantIdFilter.markLoaded();
+        restaurantIdFilter.markFollowing();
+
+        when(restaurantsRepository.insertIfAbsent(anyString(), eq(request.getName()), eq(request.getAddress()))).thenReturn(1);
+        ResponseEntity<ApiResponse> created = restaurantsService.create(request);
+        String id = ((RestaurantResponse) Objects.requireNonNull(created.getBody()).getData().get("restaurant")).getId();
+        when(restaurantReadRepository.findById(id)).thenReturn(Optional.of(RestaurantResponse.builder().id(id).build()));
+
+        assertEquals(HttpStatus.OK, restaurantsService.fetchById(id).getStatusCode());
+    }
+
+    @Test
+    public void testRestaurantWithoutCoordinatesIsNotAddedToTheGeoIndex() {
+        RestaurantRequest request = RestaurantRequest.builder()
+                .name("restaurant")
+                .address(mock(Address.class))
+                .build();
+
+        when(restaurantsRepository.insertIfAbsent(anyString(), eq(request.getName()), eq(request.getAddress()))).thenReturn(1);
+        restaurantsService.create(request);
+
+        verify(restaurantGeoIndex, never()).add(anyString(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    public void testNearbyRestaurantsAreReturnedNearestFirst() {
+        restaurantGeoIndex.add("far", 13.10, 80.30);
+        restaurantGeoIndex.add("near", 13.083, 80.271);
+        restaurantGeoIndex.add("outside", 13.60, 80.30);
+        RestaurantResponse far = RestaurantResponse.builder().id("far").name("far").address(address(13.10, 80.30)).build();
+        RestaurantResponse near = RestaurantResponse.builder().id("near").name("near").address(address(13.083, 80.271)).build();
+
+        when(restaurantReadRepository.findAllById(List.of("near", "far"))).thenReturn(List.of(far, near));
+        ResponseEntity<ApiResponse> response = restaurantsService.nearby(13.0827, 80.2707, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<?> restaurants = (List<?>) Objects.requireNonNull(response.getBody()).getData().get("restaurants");
+        assertEquals(2, restaurants.size());
+        assertEquals("near", ((NearbyRestaurant) restaurants.get(0)).getRestaurant().getId());
+        assertEquals("far", ((NearbyRestaurant) restaurants.get(1)).getRestaurant().getId());
+    }
+
+    @Test
+    public void testNoRestaurantsNearbySkipsTheDatabase() {
+        ResponseEntity<ApiResponse> response = restaurantsService.nearby(13.0827, 80.2707, 1.0, 5);
+
+        assertEquals(List.of(), Objects.requireNonNull(response.getBody()).getData().get("restaurants"));
+        verify(restaurantReadRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void testNearbyWithInvalidCoordinates_throwsException() {
+        InvalidLocationException exception = assertThrows(InvalidLocationException.class,
+                () -> restaurantsService.nearby(91, 80, null, null));
+
+        assertEquals(INVALID_COORDINATES, exception.getMessage());
+        verify(restaurantGeoIndex, never()).nearest(anyDouble(), anyDouble(), anyDouble(), anyInt());
+    }
+
+    @Test
+    public void testNearbyWithNonFiniteCoordinates_throwsException() {
+        for (double[] point : new double[][]{{Double.NaN, 80}, {13, Double.NaN}, {Double.POSITIVE_INFINITY, 80},
+                {13, Double.NEGATIVE_INFINITY}}) {
+            InvalidLocationException exception = assertThrows(InvalidLocationException.class,
+                    () -> restaurantsService.nearby(point[0], point[1], null, null));
+
+            assertEquals(INVALID_COORDINATES, exception.getMessage());
+        }
+        verify(restaurantGeoIndex, never()).nearest(anyDouble(), anyDouble(), anyDouble(), anyInt());
+    }
+
+    private static ResultSet restaurantRow(String id, Double latitude) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("id")).thenReturn(id);
+        when(row.getString("name")).thenReturn("Restaurant " + id);
+        when(row.getInt("building_number")).thenReturn(1);
+        when(row.getString("city")).thenReturn("Chennai");
+        when(row.getObject("latitude", Double.class)).thenReturn(latitude);
+        return row;
+    }
+
+    @Test
+    public void testExportWritesOneDocumentPerLine() throws Exception {
+        List<ResultSet> rows = List.of(restaurantRow("first", 13.0827), restaurantRow("second", null));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        restaurantsService.export(out);
+
+        String expected = objectMapper.writeValueAsString(RestaurantReadRepository.ROW_MAPPER.mapRow(rows.get(0), 0)) + "\n"
+                + objectMapper.writeValueAsString(RestaurantReadRepository.ROW_MAPPER.mapRow(rows.get(1), 1)) + "\n";
+        String exported = out.toString(StandardCharsets.UTF_8);
+        assertEquals(expected, exported);
+        assertEquals("first", objectMapper.readTree(exported.lines().toList().get(0)).path("id").asText());
+        assertEquals("second", objectMapper.readTree(exported.lines().toList().get(1)).path("id").asText());
+    }
+
+    @Test
+    public void testExportOfNoRestaurantsIsEmpty() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        restaurantsService.export(out);
+
+        assertEquals(0, out.size());
     }
 }